@@ -5,6 +5,7 @@ import com.hotel.booking.dto.analytics.HotelAnalyticsDto;
 import com.hotel.booking.dto.analytics.RevenueByDateDto;
 import com.hotel.booking.dto.analytics.RoomTypeAnalyticsDto;
 import com.hotel.booking.dto.response.ApiResponse;
+import com.hotel.booking.enums.RevenueGranularity;
 import com.hotel.booking.exception.UnauthorizedException;
 import com.hotel.booking.security.UserContext;
 import com.hotel.booking.security.AuthorizationUtil;
@@ -78,7 +79,8 @@ public class AnalyticsController {
     @GetMapping("/revenue")
     public ResponseEntity<ApiResponse<List<RevenueByDateDto>>> getRevenueByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "DAY") RevenueGranularity granularity) {
 
         UserContext context = authorizationUtil.getUserContext();
 
@@ -86,7 +88,7 @@ public class AnalyticsController {
             throw new UnauthorizedException("Only admins can view revenue analytics");
         }
 
-        List<RevenueByDateDto> analytics = analyticsService.getRevenueByDateRange(startDate, endDate);
+        List<RevenueByDateDto> analytics = analyticsService.getRevenueByDateRange(startDate, endDate, granularity);
         return ResponseEntity.ok(
                 ApiResponse.success(analytics, "Revenue analytics retrieved successfully"));
     }
@@ -96,7 +98,8 @@ public class AnalyticsController {
     public ResponseEntity<ApiResponse<List<RevenueByDateDto>>> getRevenueByDateRangeForHotel(
             @PathVariable Long hotelId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "DAY") RevenueGranularity granularity) {
 
         UserContext context = authorizationUtil.getUserContext();
 
@@ -109,7 +112,7 @@ public class AnalyticsController {
         }
 
         List<RevenueByDateDto> analytics = analyticsService.getRevenueByDateRangeForHotel(
-                hotelId, startDate, endDate);
+                hotelId, startDate, endDate, granularity);
         return ResponseEntity.ok(
                 ApiResponse.success(analytics, "Revenue analytics retrieved successfully"));
     }
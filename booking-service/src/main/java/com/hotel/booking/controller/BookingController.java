@@ -1,25 +1,60 @@
 package com.hotel.booking.controller;
 
 import com.hotel.booking.dto.request.BookingCreateRequest;
+import com.hotel.booking.dto.request.BulkCancelRequest;
 import com.hotel.booking.dto.request.CheckInRequest;
 import com.hotel.booking.dto.request.CheckOutRequest;
 import com.hotel.booking.dto.response.*;
+import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.enums.ExportFormat;
+import com.hotel.booking.service.AvailabilityStreamService;
+import com.hotel.booking.service.BookingAuditService;
+import com.hotel.booking.service.BookingExportService;
+import com.hotel.booking.service.BookingImportService;
 import com.hotel.booking.service.BookingService;
+import com.hotel.booking.service.BulkCancellationService;
+import com.hotel.booking.service.DaySheetService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 @RestController
 @RequestMapping("/api/bookings")
 public class BookingController {
     @Autowired
     private  BookingService bookingService;
+    @Autowired
+    private BookingExportService bookingExportService;
+    @Autowired
+    private BookingImportService bookingImportService;
+    @Autowired
+    private AvailabilityStreamService availabilityStreamService;
+    @Autowired
+    private DaySheetService daySheetService;
+    @Autowired
+    private BulkCancellationService bulkCancellationService;
+    @Autowired
+    private BookingAuditService bookingAuditService;
+    @Value("${booking.export.timeout-ms:1800000}")
+    private long exportTimeoutMs;
 
     //check room availaaible for a hotel
     @GetMapping("/availability")
@@ -30,6 +65,13 @@ public class BookingController {
         AvailabilityResponse response = bookingService.checkAvailability(hotelId, checkInDate, checkOutDate);
         return ResponseEntity.ok(response);
     }
+    //live availability for a hotel and stay dates, pushed as bookings change instead of polled
+    @GetMapping(path = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(@RequestParam Long hotelId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate) {
+        return availabilityStreamService.subscribe(hotelId, checkInDate, checkOutDate);
+    }
     //create a new booking
     @PostMapping
     public ResponseEntity<BookingResponse> createBooking(
@@ -38,24 +80,118 @@ public class BookingController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
 
     }
-    //get booking by id
+    //hold a room for a few minutes while the guest pays
+    @PostMapping("/holds")
+    public ResponseEntity<ApiResponse<BookingResponse>> holdBooking(
+            @Valid @RequestBody BookingCreateRequest request) {
+        BookingResponse response = bookingService.holdBooking(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(
+                ApiResponse.success(response, "Room held until " + response.getHoldExpiresAt()));
+    }
+    //confirm a held booking once payment is done
+    @PatchMapping("/{id}/confirm")
+    public ResponseEntity<ApiResponse<BookingResponse>> confirmHold(@PathVariable Long id) {
+        BookingResponse response = bookingService.confirmHold(id);
+        return ResponseEntity.ok(ApiResponse.success(response, "Booking confirmed successfully"));
+    }
+    //get booking by id - conditional GET answers 304 from a one-row probe
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<BookingResponse>> getBookingById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<BookingResponse>> getBookingById(@PathVariable Long id, WebRequest webRequest) {
+        String eTag = bookingService.getBookingETag(id);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         BookingResponse response = bookingService.getBookingById(id);
-        return ResponseEntity.ok(ApiResponse.success(response, "Booking retrieved successfully"));
+        return ResponseEntity.ok().eTag(eTag)
+                .body(ApiResponse.success(response, "Booking retrieved successfully"));
+    }
+    //state and payment history of one booking, oldest first --manager, receptionist, admin
+    @GetMapping("/{id}/audit")
+    public ResponseEntity<ApiResponse<List<BookingAuditEntryResponse>>> getBookingAudit(@PathVariable Long id) {
+        List<BookingAuditEntryResponse> entries = bookingAuditService.getBookingHistory(id);
+        return ResponseEntity.ok(ApiResponse.success(entries, "Booking history retrieved successfully"));
     }
     //get current user's bookings - user is guest
     @GetMapping("/my-bookings")
-    public ResponseEntity<ApiResponse<List<BookingResponse>>> getMyBookings() {
-        List<BookingResponse> responses = bookingService.getMyBookings();
-        return ResponseEntity.ok(
-                ApiResponse.success(responses, "User bookings retrieved successfully"));
+    public ResponseEntity<ApiResponse<CursorPage<BookingResponse>>> getMyBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        String eTag = bookingService.getMyBookingsETag(cursor, size);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        CursorPage<BookingResponse> page = bookingService.getMyBookings(cursor, size);
+        return ResponseEntity.ok().eTag(eTag)
+                .body(ApiResponse.success(page, "User bookings retrieved successfully"));
     }
     //get all bookings for a hotel -used by manager , recpetionist , admin
     @GetMapping("/hotel/{hotelId}")
-    public ResponseEntity<List<BookingResponse>> getHotelBookings( @PathVariable Long hotelId){
-        List<BookingResponse>responses=bookingService.getHotelBookings(hotelId);
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<CursorPage<BookingResponse>> getHotelBookings(
+            @PathVariable Long hotelId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        String eTag = bookingService.getHotelBookingsETag(hotelId, cursor, size);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        CursorPage<BookingResponse> page = bookingService.getHotelBookings(hotelId, cursor, size);
+        return ResponseEntity.ok().eTag(eTag).body(page);
+    }
+    //audit trail of a hotel's bookings, newest first --manager, receptionist, admin
+    @GetMapping("/hotel/{hotelId}/audit")
+    public ResponseEntity<ApiResponse<CursorPage<BookingAuditEntryResponse>>> getHotelAudit(
+            @PathVariable Long hotelId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<BookingAuditEntryResponse> page = bookingAuditService.getHotelHistory(hotelId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(page, "Hotel booking history retrieved successfully"));
+    }
+    //get all bookings across hotels -- admin
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPage<BookingResponse>>> getAllBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<BookingResponse> page = bookingService.getAllBookings(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(page, "Bookings retrieved successfully"));
+    }
+    //bookings changed since the client's last sync -- guests get their own, staff pass hotelId
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse<BookingChangesResponse>> getBookingChanges(
+            @RequestParam(required = false) Long hotelId,
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer size) {
+        BookingChangesResponse changes = bookingService.getBookingChanges(hotelId, since, size);
+        return ResponseEntity.ok(ApiResponse.success(changes,
+                changes.getChanged().size() + " changed, " + changes.getDeletedIds().size() + " deleted"));
+    }
+    //stream bookings as ndjson or csv -- admin, or staff for their own hotel
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) Long hotelId,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            WebRequest webRequest) {
+        StreamingResponseBody body = bookingExportService.exportBookings(format, hotelId, status, fromDate, toDate);
+        setAsyncTimeout(webRequest, exportTimeoutMs);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookings-" + LocalDate.now() + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+    //load historical bookings from ndjson or csv (same columns as the export) --admin
+    @PostMapping("/import")
+    public ResponseEntity<ApiResponse<BookingImportResponse>> importBookings(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            InputStream body) {
+        BookingImportResponse result = bookingImportService.importBookings(format, body, dryRun);
+        return ResponseEntity.ok(ApiResponse.success(result,
+                result.getImported() + " bookings imported, " + result.getRejected() + " rejected"));
     }
     //cancel a booking
     @PatchMapping("/{id}/cancel")
@@ -84,6 +220,21 @@ public class BookingController {
 
         return ResponseEntity.ok("Guest checked out successfully");
     }
+    //cancel every stay of a hotel overlapping a closure window, runs in the background --manager, receptionist, admin
+    @PostMapping("/hotel/{hotelId}/bulk-cancel")
+    public ResponseEntity<ApiResponse<BulkCancellationJobResponse>> bulkCancelHotelBookings(
+            @PathVariable Long hotelId,
+            @Valid @RequestBody BulkCancelRequest request) {
+        BulkCancellationJobResponse job = bulkCancellationService.startHotelCancellation(hotelId, request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(
+                ApiResponse.success(job, "Bulk cancellation started"));
+    }
+    //progress of a bulk cancellation job
+    @GetMapping("/bulk-cancel/{jobId}")
+    public ResponseEntity<ApiResponse<BulkCancellationJobResponse>> getBulkCancellationJob(@PathVariable Long jobId) {
+        BulkCancellationJobResponse job = bulkCancellationService.getJob(jobId);
+        return ResponseEntity.ok(ApiResponse.success(job, "Bulk cancellation job retrieved successfully"));
+    }
     //get today's checkins for a hotel --admin,manager ,receptionist
     @GetMapping("/hotel/{hotelId}/today-checkins")
     public ResponseEntity<ApiResponse<List<BookingResponse>>> getTodayCheckIns(
@@ -100,6 +251,31 @@ public class BookingController {
         return ResponseEntity.ok(
                 ApiResponse.success(responses, "Today's check-outs retrieved successfully"));
     }
+    //find a hotel's bookings by guest name, email or phone prefix -- manager, receptionist, admin
+    @GetMapping("/hotel/{hotelId}/search")
+    public ResponseEntity<ApiResponse<List<BookingResponse>>> searchGuests(
+            @PathVariable Long hotelId,
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        List<BookingResponse> responses = bookingService.searchGuests(hotelId, q, limit);
+        return ResponseEntity.ok(
+                ApiResponse.success(responses, responses.size() + " bookings found"));
+    }
+    //arrivals, departures and in-house guests for one day --manager, receptionist, admin
+    @GetMapping("/hotel/{hotelId}/day-sheet")
+    public ResponseEntity<ApiResponse<DaySheetResponse>> getDaySheet(
+            @PathVariable Long hotelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        DaySheetResponse sheet = daySheetService.getDaySheet(hotelId, date);
+        return ResponseEntity.ok(ApiResponse.success(sheet, "Day sheet retrieved successfully"));
+    }
+    //row-level day sheet changes pushed as guests check in, check out or cancel
+    @GetMapping(path = "/hotel/{hotelId}/day-sheet/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDaySheet(
+            @PathVariable Long hotelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return daySheetService.subscribe(hotelId, date);
+    }
     // Search available hotels by city and dates
     @GetMapping("/search-hotels")
     public ResponseEntity<ApiResponse<List<AvailableHotelDto>>> searchAvailableHotels(
@@ -134,4 +310,15 @@ public class BookingController {
         return ResponseEntity.ok(
                 ApiResponse.success(response, "Payment status updated successfully"));
     }
+
+    // raises the async timeout of this response only; the global default still applies to every other endpoint
+    private static void setAsyncTimeout(WebRequest webRequest, long timeoutMs) {
+        WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor("async-timeout",
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                        ((AsyncWebRequest) request).setTimeout(timeoutMs);
+                    }
+                });
+    }
 }
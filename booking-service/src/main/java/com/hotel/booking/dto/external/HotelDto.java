@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalTime;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -24,4 +26,7 @@ public class HotelDto {
     private Integer availableRooms;
     private String status; // ACTIVE, INACTIVE, UNDER_MAINTENANCE
     private String amenities;
-}
\ No newline at end of file
+    private String timeZone; // IANA zone id, null when not configured
+    private LocalTime reminderWindowStart;
+    private LocalTime reminderWindowEnd;
+}
@@ -0,0 +1,60 @@
+package com.hotel.booking.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.enums.PaymentStatus;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// one historical booking from a legacy system, same column names as the export so exports round-trip
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BookingImportRow {
+    @NotNull(message = "Hotel ID is required")
+    private Long hotelId;
+    @Size(max = 255, message = "Hotel name cannot exceed 255 characters")
+    private String hotelName;
+    @NotNull(message = "User ID is required")
+    private Long userId;
+    @NotNull(message = "Room ID is required")
+    private Long roomId;
+    @Size(max = 20, message = "Room number cannot exceed 20 characters")
+    private String roomNumber;
+    @Size(max = 30, message = "Room type cannot exceed 30 characters")
+    private String roomType;
+    @NotNull(message = "Check-in date is required")
+    private LocalDate checkInDate;
+    @NotNull(message = "Check-out date is required")
+    private LocalDate checkOutDate;
+    @PositiveOrZero(message = "Price per night cannot be negative")
+    private Float pricePerNight;
+    @NotNull(message = "Total amount is required")
+    @PositiveOrZero(message = "Total amount cannot be negative")
+    private Float totalAmount;
+    @NotNull(message = "Status is required")
+    private BookingStatus status;
+    private PaymentStatus paymentStatus;
+    @Size(max = 255, message = "Payment method cannot exceed 255 characters")
+    private String paymentMethod;
+    private LocalDateTime paidAt;
+    @NotBlank(message = "Guest name is required")
+    @Size(max = 100, message = "Guest name cannot exceed 100 characters")
+    private String guestName;
+    @NotBlank(message = "Guest email is required")
+    @Size(max = 100, message = "Guest email cannot exceed 100 characters")
+    private String guestEmail;
+    @Size(max = 20, message = "Guest phone cannot exceed 20 characters")
+    private String guestPhone;
+    @Min(value = 1, message = "At least 1 guest is required")
+    private Integer numberOfGuests;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,24 @@
+package com.hotel.booking.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// hotel closure: every pending or confirmed stay with a night between fromDate and toDate is cancelled
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCancelRequest {
+    @NotNull(message = "From date is required")
+    private LocalDate fromDate;
+    @NotNull(message = "To date is required")
+    private LocalDate toDate;
+    @Size(max = 500, message = "Reason cannot exceed 500 characters")
+    private String reason;
+}
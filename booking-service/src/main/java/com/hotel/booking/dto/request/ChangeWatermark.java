@@ -0,0 +1,37 @@
+package com.hotel.booking.dto.request;
+
+import com.hotel.booking.exception.BookingException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * How far a sync client has read: the last changed booking by (updatedAt, id)
+ * and the last tombstone id. Travels to the client as an opaque url-safe token.
+ */
+public record ChangeWatermark(LocalDateTime updatedAt, Long bookingId, Long tombstoneId) {
+
+    // a client with no watermark starts from the very first booking
+    public static final ChangeWatermark INITIAL =
+            new ChangeWatermark(LocalDateTime.of(1970, 1, 1, 0, 0), 0L, 0L);
+
+    public String encode() {
+        String raw = updatedAt + "|" + bookingId + "|" + tombstoneId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeWatermark decode(String token) {
+        if (token == null || token.isBlank()) {
+            return INITIAL;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            return new ChangeWatermark(LocalDateTime.parse(parts[0]),
+                    Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BookingException("Invalid sync watermark");
+        }
+    }
+}
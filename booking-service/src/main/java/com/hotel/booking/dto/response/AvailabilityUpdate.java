@@ -0,0 +1,20 @@
+package com.hotel.booking.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.util.Map;
+// pushed over SSE: full counts on subscribe (snapshot=true), afterwards only room types whose count changed
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityUpdate {
+    private Long hotelId;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private boolean snapshot;
+    private Map<String, Integer> availableByRoomType;
+}
@@ -0,0 +1,27 @@
+package com.hotel.booking.dto.response;
+
+import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.enums.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingAuditEntryResponse {
+    private Long id;
+    private Long bookingId;
+    private Long hotelId;
+    private Long userId;
+    private BookingStatus previousStatus;
+    private BookingStatus newStatus;
+    private PaymentStatus previousPaymentStatus;
+    private PaymentStatus newPaymentStatus;
+    private String actor;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,18 @@
+package com.hotel.booking.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+// bookings created or modified (incl. cancelled) and ids deleted since the client's watermark
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingChangesResponse {
+    private List<BookingResponse> changed;
+    private List<Long> deletedIds;
+    private String watermark;
+    private boolean hasMore;
+}
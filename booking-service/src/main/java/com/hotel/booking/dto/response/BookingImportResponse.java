@@ -0,0 +1,25 @@
+package com.hotel.booking.dto.response;
+
+import com.hotel.booking.enums.ExportFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingImportResponse {
+    private ExportFormat format;
+    private boolean dryRun;
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private long durationMs;
+    private long rowsPerSecond;
+    // the first rejected rows as "line N: reason", capped by booking.import.max-reported-errors
+    private List<String> errors;
+}
@@ -34,6 +34,7 @@ public class BookingResponse {
     private String paymentStatus;
     private String paymentMethod;
     private LocalDateTime paidAt;
+    private LocalDateTime holdExpiresAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
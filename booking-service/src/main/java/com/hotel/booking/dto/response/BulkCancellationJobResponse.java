@@ -0,0 +1,31 @@
+package com.hotel.booking.dto.response;
+
+import com.hotel.booking.enums.BulkJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCancellationJobResponse {
+    private Long jobId;
+    private Long hotelId;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private String reason;
+    private BulkJobStatus status;
+    private long totalBookings;
+    private long cancelledBookings;
+    private int progressPercent;
+    private String requestedBy;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
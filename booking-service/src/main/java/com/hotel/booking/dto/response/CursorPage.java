@@ -0,0 +1,18 @@
+package com.hotel.booking.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+// one page of a keyset-paginated list; pass nextCursor back to get the following page
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private Integer size;
+    private boolean hasMore;
+    private String nextCursor;
+}
@@ -0,0 +1,20 @@
+package com.hotel.booking.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.util.List;
+// front desk view of one day; a booking leaving today is listed both in-house and as a departure
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DaySheetResponse {
+    private Long hotelId;
+    private LocalDate date;
+    private List<BookingResponse> arrivals;
+    private List<BookingResponse> departures;
+    private List<BookingResponse> inHouse;
+}
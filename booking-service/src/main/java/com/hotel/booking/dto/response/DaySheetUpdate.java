@@ -0,0 +1,17 @@
+package com.hotel.booking.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+// pushed over SSE when a booking on the day sheet changes; the flags say which sections it now belongs to
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DaySheetUpdate {
+    private BookingResponse booking;
+    private boolean arrival;
+    private boolean departure;
+    private boolean inHouse;
+}
@@ -0,0 +1,91 @@
+package com.hotel.booking.entity;
+
+import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.enums.PaymentStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+/**
+ * Closed booking moved out of the hot bookings table by BookingArchiveJob.
+ * Same id and columns as Booking minus the operational ones (holds, reminders, search keys);
+ * rows are written only by the job's INSERT ... SELECT and never change afterwards.
+ */
+@Entity
+@Immutable
+@Table(name = "bookings_archive", indexes = {
+        @Index(name = "idx_archive_user_id", columnList = "user_id"),
+        @Index(name = "idx_archive_hotel_check_in", columnList = "hotel_id, check_in_date"),
+        @Index(name = "idx_archive_created", columnList = "created_at")
+})
+@Getter
+@NoArgsConstructor
+public class ArchivedBooking {
+    @Id
+    private Long id;
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+    @Column(name = "hotel_name")
+    private String hotelName;
+    @Column(name = "room_number", length = 20)
+    private String roomNumber;
+    @Column(name = "room_type", length = 30)
+    private String roomType;
+    @Column(name = "price_per_night")
+    private Float pricePerNight;
+    @Column(name = "check_in_date", nullable = false)
+    private LocalDate checkInDate;
+    @Column(name = "check_out_date", nullable = false)
+    private LocalDate checkOutDate;
+    @Column(name = "total_amount", nullable = false)
+    private float totalAmount;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status")
+    private PaymentStatus paymentStatus;
+    @Column(name = "paid_at")
+    private LocalDateTime paidAt;
+    @Column(name = "payment_method")
+    private String paymentMethod;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private BookingStatus status;
+    @Column(name = "guest_name", nullable = false, length = 100)
+    private String guestName;
+    @Column(name = "guest_email", nullable = false, length = 100)
+    private String guestEmail;
+    @Column(name = "guest_phone", nullable = false, length = 20)
+    private String guestPhone;
+    @Column(name = "number_of_guests", nullable = false)
+    private Integer numberOfGuests;
+    @Column(name = "cancelled_at")
+    private LocalDate cancelledAt;
+    @Column(name = "checked_in_at")
+    private LocalDate checkedInAt;
+    @Column(name = "checked_out_at")
+    private LocalDate checkedOutAt;
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    @Column(name = "created_by")
+    private String createdBy;
+    @Column(name = "updated_by")
+    private String updatedBy;
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Transient
+    public int getNumberOfNights() {
+        return (int) DAYS.between(checkInDate, checkOutDate);
+    }
+}
@@ -2,6 +2,7 @@ package com.hotel.booking.entity;
 
 import com.hotel.booking.enums.BookingStatus;
 import com.hotel.booking.enums.PaymentStatus;
+import com.hotel.booking.util.GuestSearchNormalizer;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -17,8 +18,27 @@ import static java.time.temporal.ChronoUnit.DAYS;
         @Index(name = "idx_hotel_id", columnList = "hotel_id"),
         @Index(name = "idx_room_id", columnList = "room_id"),
         @Index(name = "idx_check_in_date", columnList = "check_in_date"),
-        @Index(name = "idx_status", columnList = "status")
+        @Index(name = "idx_check_in_status_id", columnList = "check_in_date, status, id"),
+        @Index(name = "idx_status", columnList = "status"),
+        @Index(name = "idx_hold_expires_at", columnList = "hold_expires_at"),
+        // keyset pagination, newest first
+        @Index(name = "idx_hotel_created", columnList = "hotel_id, created_at, id"),
+        @Index(name = "idx_created", columnList = "created_at, id"),
+        // delta sync, oldest change first
+        @Index(name = "idx_user_updated", columnList = "user_id, updated_at, id"),
+        @Index(name = "idx_hotel_updated", columnList = "hotel_id, updated_at, id"),
+        // front-desk guest search, all prefix matches within one hotel
+        @Index(name = "idx_hotel_guest_name", columnList = "hotel_id, guest_name_key"),
+        @Index(name = "idx_hotel_guest_surname", columnList = "hotel_id, guest_surname_key"),
+        @Index(name = "idx_hotel_guest_email", columnList = "hotel_id, guest_email_key"),
+        @Index(name = "idx_hotel_guest_phone", columnList = "hotel_id, guest_phone_key"),
+        @Index(name = "idx_hotel_guest_phone_rev", columnList = "hotel_id, guest_phone_rev_key"),
+        // front-desk day sheet
+        @Index(name = "idx_hotel_status_checkout", columnList = "hotel_id, status, check_out_date"),
+        // dashboard departures across hotels
+        @Index(name = "idx_status_checkout", columnList = "status, check_out_date")
 })
+@EntityListeners(BookingTombstoneListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -33,6 +53,13 @@ public class Booking extends BaseEntity {
     private Long roomId;
     @Column(name="hotel_name")
     private String hotelName;
+    // room details copied at reservation time
+    @Column(name = "room_number", length = 20)
+    private String roomNumber;
+    @Column(name = "room_type", length = 30)
+    private String roomType;
+    @Column(name = "price_per_night")
+    private Float pricePerNight;
     @Column(name = "check_in_date", nullable = false)
     private LocalDate checkInDate;
     @Column(name = "check_out_date", nullable = false)
@@ -60,13 +87,43 @@ public class Booking extends BaseEntity {
     private LocalDate checkedInAt;
     @Column(name = "checked_out_at")
     private LocalDate checkedOutAt;
+    // set while the booking is a PENDING hold, cleared on confirmation or release
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+    // set once Kafka acknowledged the check-in reminder
+    @Column(name = "reminder_sent_at")
+    private LocalDateTime reminderSentAt;
+    // set when a replica claims the reminder; a claim older than the claim timeout is up for grabs again
+    @Column(name = "reminder_claimed_at")
+    private LocalDateTime reminderClaimedAt;
+    // normalized copies of the guest fields for indexed search, see GuestSearchNormalizer
+    @Column(name = "guest_name_key", length = 100)
+    private String guestNameKey;
+    @Column(name = "guest_surname_key", length = 100)
+    private String guestSurnameKey;
+    @Column(name = "guest_email_key", length = 100)
+    private String guestEmailKey;
+    @Column(name = "guest_phone_key", length = 20)
+    private String guestPhoneKey;
+    @Column(name = "guest_phone_rev_key", length = 20)
+    private String guestPhoneRevKey;
+    @PrePersist
+    @PreUpdate
+    public void refreshGuestSearchKeys() {
+        guestNameKey = GuestSearchNormalizer.name(guestName);
+        guestSurnameKey = GuestSearchNormalizer.surname(guestName);
+        guestEmailKey = GuestSearchNormalizer.email(guestEmail);
+        guestPhoneKey = GuestSearchNormalizer.phoneDigits(guestPhone);
+        guestPhoneRevKey = GuestSearchNormalizer.reversedPhoneDigits(guestPhone);
+    }
     @Transient
     public int getNumberOfNights() {
         return (int) DAYS.between(checkInDate, checkOutDate);
     }
     @Transient
     public boolean isActive() {
-        return status != BookingStatus.CANCELLED && status != BookingStatus.CHECKED_OUT;
+        return status != BookingStatus.CANCELLED && status != BookingStatus.CHECKED_OUT
+                && status != BookingStatus.NO_SHOW;
     }
     public boolean overlapsWithDates(LocalDate startDate, LocalDate endDate) {
         return !checkOutDate.isBefore(startDate) && !checkInDate.isAfter(endDate);
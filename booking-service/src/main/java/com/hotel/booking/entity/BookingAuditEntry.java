@@ -0,0 +1,49 @@
+package com.hotel.booking.entity;
+
+import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.enums.PaymentStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// one committed booking transition; rows are only ever inserted, by BookingAuditLog
+@Entity
+@Immutable
+@Table(name = "booking_audit_log", indexes = {
+        @Index(name = "idx_audit_booking", columnList = "booking_id, id"),
+        @Index(name = "idx_audit_hotel_occurred", columnList = "hotel_id, occurred_at, id")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingAuditEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+    @Column(name = "user_id")
+    private Long userId;
+    // null when the entry records the creation of the booking
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_status", length = 20)
+    private BookingStatus previousStatus;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "new_status", nullable = false, length = 20)
+    private BookingStatus newStatus;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_payment_status", length = 20)
+    private PaymentStatus previousPaymentStatus;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "new_payment_status", length = 20)
+    private PaymentStatus newPaymentStatus;
+    @Column(name = "actor", length = 100)
+    private String actor;
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
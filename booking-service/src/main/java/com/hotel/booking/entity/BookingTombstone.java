@@ -0,0 +1,35 @@
+package com.hotel.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// marker left behind when a booking row is deleted or archived, so sync clients can drop their copy
+@Entity
+@Table(name = "booking_tombstones", indexes = {
+        @Index(name = "idx_tombstone_user", columnList = "user_id, id"),
+        @Index(name = "idx_tombstone_hotel", columnList = "hotel_id, id"),
+        @Index(name = "idx_tombstone_deleted_at", columnList = "deleted_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingTombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+    // moved to bookings_archive rather than deleted: gone from hotel lists, still in the guest's own list
+    @Column(name = "archived", nullable = false)
+    private boolean archived;
+}
@@ -0,0 +1,28 @@
+package com.hotel.booking.entity;
+
+import jakarta.persistence.PreRemove;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records a tombstone whenever a booking is deleted through JPA, and drops its read-model row.
+ * Uses plain JDBC because entities must not be persisted from inside a flush;
+ * the insert joins the deleting transaction's connection.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingTombstoneListener {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PreRemove
+    public void onRemove(Booking booking) {
+        jdbcTemplate.update(
+                "INSERT INTO booking_tombstones (booking_id, user_id, hotel_id, deleted_at, archived) VALUES (?, ?, ?, ?, FALSE)",
+                booking.getId(), booking.getUserId(), booking.getHotelId(), LocalDateTime.now());
+        jdbcTemplate.update("DELETE FROM user_booking_summaries WHERE booking_id = ?", booking.getId());
+    }
+}
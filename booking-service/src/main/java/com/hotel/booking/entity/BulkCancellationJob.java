@@ -0,0 +1,51 @@
+package com.hotel.booking.entity;
+
+import com.hotel.booking.enums.BulkJobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// one hotel-closure cancellation run; progress is updated in the same transaction as each chunk
+@Entity
+@Table(name = "bulk_cancellation_jobs", indexes = {
+        @Index(name = "idx_bulk_cancel_hotel", columnList = "hotel_id, created_at"),
+        @Index(name = "idx_bulk_cancel_status", columnList = "status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCancellationJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+    // closure nights, both inclusive
+    @Column(name = "from_date", nullable = false)
+    private LocalDate fromDate;
+    @Column(name = "to_date", nullable = false)
+    private LocalDate toDate;
+    @Column(name = "reason", length = 500)
+    private String reason;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private BulkJobStatus status;
+    @Column(name = "total_bookings", nullable = false)
+    private long totalBookings;
+    @Column(name = "cancelled_bookings", nullable = false)
+    private long cancelledBookings;
+    @Column(name = "requested_by")
+    private String requestedBy;
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,34 @@
+package com.hotel.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// one of DashboardCounters.STRIPES rows; the dashboard figures are the sum over all stripes
+@Entity
+@Table(name = "dashboard_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardCounterStripe {
+    @Id
+    @Column(name = "stripe")
+    private Integer stripe;
+    @Column(name = "bookings", nullable = false)
+    private long bookings;
+    @Column(name = "revenue", nullable = false)
+    private double revenue;
+    @Column(name = "active", nullable = false)
+    private long active;
+    @Column(name = "completed", nullable = false)
+    private long completed;
+    @Column(name = "cancelled", nullable = false)
+    private long cancelled;
+    @Column(name = "pending_payments", nullable = false)
+    private long pendingPayments;
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,39 @@
+package com.hotel.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// event written in the same transaction as the booking change, relayed to Kafka afterwards
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_sent_at_id", columnList = "sent_at, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "topic", nullable = false, length = 100)
+    private String topic;
+    // Kafka message key (booking id) - keeps every event of a booking on one partition
+    @Column(name = "message_key", nullable = false, length = 64)
+    private String messageKey;
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
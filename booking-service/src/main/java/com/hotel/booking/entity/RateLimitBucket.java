@@ -0,0 +1,24 @@
+package com.hotel.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// state of a token bucket shared by all replicas, see SharedTokenBucket
+@Entity
+@Table(name = "rate_limit_buckets")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateLimitBucket {
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+    @Column(name = "tokens", nullable = false)
+    private double tokens;
+    @Column(name = "refilled_at", nullable = false)
+    private LocalDateTime refilledAt;
+}
@@ -0,0 +1,58 @@
+package com.hotel.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * Non-cancelled bookings of one hotel on one day, hot and archived together.
+ * "booked" counts bookings by the day they were made, "arrival" by their check-in day.
+ * Written only through RevenueRollupProjector's relative upserts.
+ */
+@Entity
+@Immutable
+@IdClass(RevenueRollup.Key.class)
+@Table(name = "revenue_rollups", indexes = {
+        @Index(name = "idx_rollup_date", columnList = "rollup_date")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevenueRollup {
+    @Id
+    @Column(name = "hotel_id")
+    private Long hotelId;
+    @Id
+    @Column(name = "rollup_date")
+    private LocalDate rollupDate;
+    @Column(name = "booked_count", nullable = false)
+    private long bookedCount;
+    @Column(name = "booked_revenue", nullable = false)
+    private double bookedRevenue;
+    @Column(name = "arrival_count", nullable = false)
+    private long arrivalCount;
+    @Column(name = "arrival_revenue", nullable = false)
+    private double arrivalRevenue;
+
+    // ordered so that every writer upserts rows in the same order and cannot deadlock another
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable, Comparable<Key> {
+        private static final Comparator<Key> ORDER =
+                Comparator.comparing(Key::getHotelId).thenComparing(Key::getRollupDate);
+
+        private Long hotelId;
+        private LocalDate rollupDate;
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.hotel.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// one row per unit of scheduled work (a job run), owned by one replica at a time
+@Entity
+@Table(name = "scheduler_leases", indexes = {
+        @Index(name = "idx_lease_completed_at", columnList = "completed_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchedulerLease {
+    @Id
+    @Column(name = "name", length = 150)
+    private String name;
+    @Column(name = "owner", nullable = false, length = 100)
+    private String owner;
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+    @Column(name = "acquired_at", nullable = false)
+    private LocalDateTime acquiredAt;
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    // how far the holder got, so a replica taking an expired lease over resumes there
+    @Column(name = "checkpoint", length = 100)
+    private String checkpoint;
+}
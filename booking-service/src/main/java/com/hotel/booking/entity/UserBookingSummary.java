@@ -0,0 +1,65 @@
+package com.hotel.booking.entity;
+
+import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.enums.PaymentStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// read model behind "my bookings": one row per booking, keyed by user, written with the booking's transaction
+@Entity
+@Table(name = "user_booking_summaries", indexes = {
+        @Index(name = "idx_summary_user_created", columnList = "user_id, created_at, booking_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserBookingSummary {
+    @Id
+    @Column(name = "booking_id")
+    private Long bookingId;
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+    @Column(name = "hotel_name")
+    private String hotelName;
+    @Column(name = "room_number", length = 20)
+    private String roomNumber;
+    @Column(name = "room_type", length = 30)
+    private String roomType;
+    @Column(name = "check_in_date", nullable = false)
+    private LocalDate checkInDate;
+    @Column(name = "check_out_date", nullable = false)
+    private LocalDate checkOutDate;
+    @Column(name = "guest_name", length = 100)
+    private String guestName;
+    @Column(name = "guest_email", length = 100)
+    private String guestEmail;
+    @Column(name = "guest_phone", length = 20)
+    private String guestPhone;
+    @Column(name = "number_of_guests")
+    private Integer numberOfGuests;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private BookingStatus status;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status", length = 20)
+    private PaymentStatus paymentStatus;
+    @Column(name = "payment_method")
+    private String paymentMethod;
+    @Column(name = "paid_at")
+    private LocalDateTime paidAt;
+    @Column(name = "total_amount", nullable = false)
+    private float totalAmount;
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -6,7 +6,8 @@ public enum BookingStatus {
     CONFIRMED("Confirmed", "Booking is confirmed"),
     CHECKED_IN("Checked In", "Guest has checked in"),
     CHECKED_OUT("Checked Out", "Guest has checked out"),
-    CANCELLED("Cancelled", "Booking has been cancelled");
+    CANCELLED("Cancelled", "Booking has been cancelled"),
+    NO_SHOW("No Show", "Guest did not arrive by the check-in date");
     private final String displayName;
     private final String description;
     BookingStatus(String displayName, String description) {
@@ -0,0 +1,8 @@
+package com.hotel.booking.enums;
+
+public enum BulkJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,21 @@
+package com.hotel.booking.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+// bucket size of revenue charts; weeks start on Monday
+public enum RevenueGranularity {
+    DAY,
+    WEEK,
+    MONTH;
+
+    // first day of the bucket the date falls into
+    public LocalDate bucketOf(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+}
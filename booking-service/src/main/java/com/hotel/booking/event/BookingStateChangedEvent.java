@@ -0,0 +1,66 @@
+package com.hotel.booking.event;
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.enums.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * In-process notification of a booking transition, published inside the transaction
+ * that made it. Unlike the Kafka events it is never sent over the wire; listeners
+ * that need the committed state use @TransactionalEventListener(AFTER_COMMIT).
+ * previousStatus is null for a newly created booking.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStateChangedEvent {
+    private Long bookingId;
+    private Long userId;
+    private Long hotelId;
+    private Long roomId;
+    private String roomType;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private BookingStatus previousStatus;
+    private BookingStatus newStatus;
+    private PaymentStatus previousPaymentStatus;
+    private PaymentStatus newPaymentStatus;
+    private Float totalAmount;
+    // when the booking was made, not when this transition happened
+    private LocalDateTime createdAt;
+    private String actor;
+    private LocalDateTime occurredAt;
+
+    public static BookingStateChangedEvent of(Booking booking, BookingStatus previousStatus,
+                                              PaymentStatus previousPaymentStatus, String actor) {
+        return BookingStateChangedEvent.builder()
+                .bookingId(booking.getId())
+                .userId(booking.getUserId())
+                .hotelId(booking.getHotelId())
+                .roomId(booking.getRoomId())
+                .roomType(booking.getRoomType())
+                .checkInDate(booking.getCheckInDate())
+                .checkOutDate(booking.getCheckOutDate())
+                .previousStatus(previousStatus)
+                .newStatus(booking.getStatus())
+                .previousPaymentStatus(previousPaymentStatus)
+                .newPaymentStatus(booking.getPaymentStatus())
+                .totalAmount(booking.getTotalAmount())
+                .createdAt(booking.getCreatedAt())
+                .actor(actor)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    public boolean isStatusChange() {
+        return previousStatus != newStatus;
+    }
+}
@@ -0,0 +1,183 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.dto.analytics.HotelAnalyticsDto;
+import com.hotel.booking.dto.analytics.RoomTypeAnalyticsDto;
+import com.hotel.booking.entity.ArchivedBooking;
+import com.hotel.booking.repository.projection.BookingDateBounds;
+import com.hotel.booking.repository.projection.BookingVersionView;
+import com.hotel.booking.repository.projection.DashboardTotals;
+import com.hotel.booking.repository.projection.RevenueDayTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    /**
+     * Next chunk of bookings closed before :cutoff, walked by primary key and row-locked
+     * so a concurrent payment update cannot slip in between the copy and the delete.
+     */
+    @Query(value = """
+        SELECT id FROM bookings
+        WHERE id > :afterId
+        AND status IN ('CANCELLED', 'CHECKED_OUT', 'NO_SHOW')
+        AND updated_at < :cutoff
+        ORDER BY id
+        LIMIT :limit
+        FOR UPDATE
+        """, nativeQuery = true)
+    List<Long> lockClosedBefore(
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit
+    );
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO bookings_archive (
+            id, user_id, hotel_id, room_id, hotel_name, room_number, room_type, price_per_night,
+            check_in_date, check_out_date, total_amount, payment_status, paid_at, payment_method,
+            status, guest_name, guest_email, guest_phone, number_of_guests,
+            cancelled_at, checked_in_at, checked_out_at,
+            created_at, updated_at, created_by, updated_by, archived_at)
+        SELECT
+            id, user_id, hotel_id, room_id, hotel_name, room_number, room_type, price_per_night,
+            check_in_date, check_out_date, total_amount, payment_status, paid_at, payment_method,
+            status, guest_name, guest_email, guest_phone, number_of_guests,
+            cancelled_at, checked_in_at, checked_out_at,
+            created_at, updated_at, created_by, updated_by, :now
+        FROM bookings
+        WHERE id IN (:ids)
+        """, nativeQuery = true)
+    int copyFromBookings(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // the rows leave the hotel lists, so hotel list ETags and delta sync must see them go
+    @Modifying
+    @Query(value = """
+        INSERT INTO booking_tombstones (booking_id, user_id, hotel_id, deleted_at, archived)
+        SELECT id, user_id, hotel_id, :now, TRUE
+        FROM bookings
+        WHERE id IN (:ids)
+        """, nativeQuery = true)
+    int tombstoneArchived(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // plain SQL on purpose: the JPA listener would write a regular tombstone and drop the guest summary row
+    @Modifying
+    @Query(value = "DELETE FROM bookings WHERE id IN (:ids)", nativeQuery = true)
+    int deleteFromBookings(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT b.id AS id, b.userId AS userId, b.hotelId AS hotelId, b.updatedAt AS updatedAt FROM ArchivedBooking b WHERE b.id = :id")
+    Optional<BookingVersionView> findVersionById(@Param("id") Long id);
+
+    // analytics counterparts of the BookingRepository aggregates, same filters
+    // archived bookings are all closed, so active and today's figures are always 0
+    @Query("""
+    SELECT new com.hotel.booking.repository.projection.DashboardTotals(
+        SUM(CASE WHEN b.status != 'CANCELLED' THEN 1 ELSE 0 END),
+        SUM(CASE WHEN b.status != 'CANCELLED' THEN b.totalAmount ELSE 0 END),
+        0L,
+        SUM(CASE WHEN b.status = 'CHECKED_OUT' THEN 1 ELSE 0 END),
+        SUM(CASE WHEN b.status = 'CANCELLED' THEN 1 ELSE 0 END),
+        0L,
+        0L,
+        SUM(CASE WHEN b.paymentStatus = 'PENDING' AND b.status != 'CANCELLED' THEN 1 ELSE 0 END)
+    )
+    FROM ArchivedBooking b
+    """)
+    DashboardTotals getDashboardTotals();
+
+    @Query("""
+    SELECT new com.hotel.booking.dto.analytics.HotelAnalyticsDto(
+        b.hotelId,
+        COUNT(b),
+        COALESCE(SUM(b.totalAmount), 0),
+        0L
+    )
+    FROM ArchivedBooking b
+    WHERE b.status != 'CANCELLED'
+    GROUP BY b.hotelId
+    """)
+    List<HotelAnalyticsDto> getRevenueByHotel();
+
+    @Query("""
+    SELECT new com.hotel.booking.dto.analytics.RoomTypeAnalyticsDto(
+        b.roomType,
+        COUNT(b),
+        COALESCE(SUM(b.totalAmount), 0),
+        COALESCE(AVG(b.totalAmount), 0)
+    )
+    FROM ArchivedBooking b
+    WHERE b.status != 'CANCELLED'
+    AND b.roomType IS NOT NULL
+    GROUP BY b.roomType
+    """)
+    List<RoomTypeAnalyticsDto> getRevenueByRoomType();
+
+    @Query("""
+    SELECT new com.hotel.booking.dto.analytics.RoomTypeAnalyticsDto(
+        b.roomType,
+        COUNT(b),
+        COALESCE(SUM(b.totalAmount), 0),
+        COALESCE(AVG(b.totalAmount), 0)
+    )
+    FROM ArchivedBooking b
+    WHERE b.hotelId = :hotelId
+    AND b.status != 'CANCELLED'
+    AND b.roomType IS NOT NULL
+    GROUP BY b.roomType
+    """)
+    List<RoomTypeAnalyticsDto> getRevenueByRoomTypeForHotel(@Param("hotelId") Long hotelId);
+
+    // revenue rollup sources: non-cancelled bookings per hotel and the day they were made, a created_at range scan
+    @Query("""
+    SELECT new com.hotel.booking.repository.projection.RevenueDayTotal(
+        b.hotelId,
+        CAST(b.createdAt AS LocalDate),
+        COUNT(b),
+        COALESCE(SUM(b.totalAmount), 0)
+    )
+    FROM ArchivedBooking b
+    WHERE b.status != 'CANCELLED'
+    AND b.createdAt >= :from AND b.createdAt < :until
+    GROUP BY b.hotelId, CAST(b.createdAt AS LocalDate)
+    """)
+    List<RevenueDayTotal> getBookedTotals(
+            @Param("from") LocalDateTime from,
+            @Param("until") LocalDateTime until
+    );
+
+    // ... and per hotel and check-in day
+    @Query("""
+    SELECT new com.hotel.booking.repository.projection.RevenueDayTotal(
+        b.hotelId,
+        b.checkInDate,
+        COUNT(b),
+        COALESCE(SUM(b.totalAmount), 0)
+    )
+    FROM ArchivedBooking b
+    WHERE b.status != 'CANCELLED'
+    AND b.checkInDate BETWEEN :startDate AND :endDate
+    GROUP BY b.hotelId, b.checkInDate
+    """)
+    List<RevenueDayTotal> getArrivalTotals(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    @Query("""
+    SELECT new com.hotel.booking.repository.projection.BookingDateBounds(
+        MIN(b.createdAt), MIN(b.checkInDate), MAX(b.checkInDate)
+    )
+    FROM ArchivedBooking b
+    """)
+    BookingDateBounds getDateBounds();
+}
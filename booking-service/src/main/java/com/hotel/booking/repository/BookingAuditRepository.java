@@ -0,0 +1,39 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.entity.BookingAuditEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// read side only: entries are appended in batches by BookingAuditLog and never updated or deleted
+@org.springframework.stereotype.Repository
+public interface BookingAuditRepository extends Repository<BookingAuditEntry, Long> {
+
+    // served by idx_audit_booking
+    List<BookingAuditEntry> findByBookingIdOrderByIdAsc(Long bookingId);
+
+    // keyset pages, newest first, served by idx_audit_hotel_occurred
+    @Query("""
+        SELECT a FROM BookingAuditEntry a
+        WHERE a.hotelId = :hotelId
+        ORDER BY a.occurredAt DESC, a.id DESC
+        """)
+    List<BookingAuditEntry> findHotelFirstPage(@Param("hotelId") Long hotelId, Pageable pageable);
+
+    @Query("""
+        SELECT a FROM BookingAuditEntry a
+        WHERE a.hotelId = :hotelId
+        AND (a.occurredAt < :occurredAt OR (a.occurredAt = :occurredAt AND a.id < :id))
+        ORDER BY a.occurredAt DESC, a.id DESC
+        """)
+    List<BookingAuditEntry> findHotelPageAfter(
+            @Param("hotelId") Long hotelId,
+            @Param("occurredAt") LocalDateTime occurredAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+}
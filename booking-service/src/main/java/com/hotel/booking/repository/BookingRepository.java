@@ -1,31 +1,87 @@
 package com.hotel.booking.repository;
 
 import com.hotel.booking.dto.analytics.HotelAnalyticsDto;
-import com.hotel.booking.dto.analytics.RevenueByDateDto;
+import com.hotel.booking.dto.analytics.RoomTypeAnalyticsDto;
 import com.hotel.booking.entity.Booking;
 import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.repository.projection.BookingDateBounds;
+import com.hotel.booking.repository.projection.BookingListRow;
+import com.hotel.booking.repository.projection.BookingRoomView;
+import com.hotel.booking.repository.projection.BookingVersionView;
+import com.hotel.booking.repository.projection.DashboardTotals;
+import com.hotel.booking.repository.projection.GuestContactView;
+import com.hotel.booking.repository.projection.PendingHoldView;
+import com.hotel.booking.repository.projection.PendingReminderDay;
+import com.hotel.booking.repository.projection.ReminderRow;
+import com.hotel.booking.repository.projection.RevenueDayTotal;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findByUserIdOrderByCreatedAtDesc(Long userId);
+    // select list for BookingListRow, shared by the read-only list queries below
+    String LIST_ROW = """
+        SELECT new com.hotel.booking.repository.projection.BookingListRow(
+            b.id, b.hotelName, b.roomNumber, b.roomType, b.checkInDate, b.checkOutDate,
+            b.totalAmount, b.status, b.guestName, b.guestEmail, b.guestPhone, b.numberOfGuests,
+            b.paymentStatus, b.paymentMethod, b.paidAt, b.holdExpiresAt, b.createdAt, b.updatedAt)
+        FROM Booking b
+        """;
+
     List<Booking> findByHotelIdOrderByCreatedAtDesc(Long hotelId);
+
+    // keyset pages, newest first; callers ask for size + 1 rows to learn whether more exist
+    @Query(LIST_ROW + "WHERE b.hotelId = :hotelId ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingListRow> findHotelFirstPage(@Param("hotelId") Long hotelId, Pageable pageable);
+
+    @Query(LIST_ROW + "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingListRow> findFirstPage(Pageable pageable);
+
+    @Query(LIST_ROW + """
+        WHERE b.hotelId = :hotelId
+        AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id))
+        ORDER BY b.createdAt DESC, b.id DESC
+        """)
+    List<BookingListRow> findHotelPageAfter(
+            @Param("hotelId") Long hotelId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @Query(LIST_ROW + """
+        WHERE b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)
+        ORDER BY b.createdAt DESC, b.id DESC
+        """)
+    List<BookingListRow> findPageAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
     List<Booking> findByStatus(BookingStatus status);
     List<Booking> findByHotelIdAndStatus(Long hotelId, BookingStatus status);
 
     @Query("""
         SELECT DISTINCT b.roomId FROM Booking b
         WHERE b.hotelId = :hotelId
-        AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT')
+        AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT', 'NO_SHOW')
         AND (
             (b.checkInDate <= :checkOutDate AND b.checkOutDate >= :checkInDate)
         )
@@ -39,7 +95,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("""
         SELECT COUNT(b) > 0 FROM Booking b
         WHERE b.roomId = :roomId
-        AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT')
+        AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT', 'NO_SHOW')
         AND (
             (b.checkInDate <= :checkOutDate AND b.checkOutDate >= :checkInDate)
         )
@@ -66,7 +122,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("""
         SELECT b FROM Booking b
         WHERE b.roomId = :roomId
-        AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT')
+        AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT', 'NO_SHOW')
         AND (
             (b.checkInDate <= :checkOutDate AND b.checkOutDate >= :checkInDate)
         )
@@ -77,26 +133,86 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             @Param("checkOutDate") LocalDate checkOutDate
     );
 
+    // row lock used when a hold is confirmed, so it cannot race the expiry release
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("""
+        SELECT b.id AS id, b.holdExpiresAt AS holdExpiresAt FROM Booking b
+        WHERE b.status = :status
+        AND b.holdExpiresAt IS NOT NULL
+        AND b.id > :afterId
+        ORDER BY b.id
+        """)
+    List<PendingHoldView> findPendingHolds(
+            @Param("status") BookingStatus status,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    // holds whose deadline passed without being released, e.g. because the replica holding their timer died
+    @Query("""
+        SELECT b.id FROM Booking b
+        WHERE b.status = :status
+        AND b.holdExpiresAt <= :cutoff
+        ORDER BY b.holdExpiresAt
+        """)
+    List<Long> findOverdueHoldIds(
+            @Param("status") BookingStatus status,
+            @Param("cutoff") LocalDateTime cutoff,
+            Pageable pageable
+    );
+
+    // expired holds among ids, row-locked so the release below and its events see the same set
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("""
         SELECT b FROM Booking b
+        WHERE b.id IN :ids
+        AND b.status = :pending
+        AND b.holdExpiresAt <= :now
+        """)
+    List<Booking> findExpiredHoldsForUpdate(
+            @Param("ids") List<Long> ids,
+            @Param("pending") BookingStatus pending,
+            @Param("now") LocalDateTime now
+    );
+
+    @Modifying
+    @Query("""
+        UPDATE Booking b
+        SET b.status = :cancelled, b.cancelledAt = :today, b.holdExpiresAt = NULL,
+            b.updatedAt = :now, b.updatedBy = 'system'
+        WHERE b.id IN :ids
+        AND b.status = :pending
+        AND b.holdExpiresAt <= :now
+        """)
+    int releaseExpiredHolds(
+            @Param("ids") List<Long> ids,
+            @Param("pending") BookingStatus pending,
+            @Param("cancelled") BookingStatus cancelled,
+            @Param("today") LocalDate today,
+            @Param("now") LocalDateTime now
+    );
+
+    @Query(LIST_ROW + """
         WHERE b.hotelId = :hotelId
         AND b.status = 'CONFIRMED'
         AND b.checkInDate = :date
         ORDER BY b.checkInDate
         """)
-    List<Booking> findUpcomingCheckIns(
+    List<BookingListRow> findUpcomingCheckIns(
             @Param("hotelId") Long hotelId,
             @Param("date") LocalDate date
     );
 
-    @Query("""
-        SELECT b FROM Booking b
+    @Query(LIST_ROW + """
         WHERE b.hotelId = :hotelId
         AND b.status = 'CHECKED_IN'
         AND b.checkOutDate = :date
         ORDER BY b.checkOutDate
         """)
-    List<Booking> findUpcomingCheckOuts(
+    List<BookingListRow> findUpcomingCheckOuts(
             @Param("hotelId") Long hotelId,
             @Param("date") LocalDate date
     );
@@ -132,20 +248,166 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
         """)
     Long countActiveBookings(@Param("hotelId") Long hotelId);
 
-    List<Booking> findByCheckInDateAndStatus(LocalDate checkInDate, BookingStatus status);
-    List<Booking> findByCheckOutDateAndStatus(LocalDate checkOutDate, BookingStatus status);
+    // drives the reminder plan: which hotels still have arrivals to remind, per check-in date
+    @Query("""
+        SELECT DISTINCT new com.hotel.booking.repository.projection.PendingReminderDay(b.hotelId, b.checkInDate)
+        FROM Booking b
+        WHERE b.checkInDate BETWEEN :fromDate AND :toDate
+        AND b.status = :status
+        AND b.reminderSentAt IS NULL
+        """)
+    List<PendingReminderDay> findPendingReminderDays(
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate,
+            @Param("status") BookingStatus status
+    );
+
+    /**
+     * Locks a batch of unsent check-in reminders that nobody holds a live claim on. SKIP LOCKED
+     * lets every replica claim a disjoint batch concurrently; the caller stamps the claim in the
+     * same transaction. Claims older than the timeout belong to a replica that died mid-send.
+     */
+    @Query(value = """
+        SELECT id FROM bookings
+        WHERE check_in_date = :date
+        AND status = 'CONFIRMED'
+        AND reminder_sent_at IS NULL
+        AND (reminder_claimed_at IS NULL OR reminder_claimed_at < TIMESTAMPADD(SECOND, -:claimTimeout, NOW(6)))
+        AND hotel_id IN (:hotelIds)
+        ORDER BY id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<Long> lockDueReminders(
+            @Param("date") LocalDate date,
+            @Param("hotelIds") Collection<Long> hotelIds,
+            @Param("claimTimeout") long claimTimeoutSeconds,
+            @Param("limit") int limit
+    );
+
+    // reminder bookkeeping is not a client-visible change, so updated_at is left alone; database clock like the timeout check
+    @Modifying
+    @Query(value = "UPDATE bookings SET reminder_claimed_at = NOW(6) WHERE id IN (:ids)", nativeQuery = true)
+    int markReminderClaimed(@Param("ids") Collection<Long> ids);
 
+    @Modifying
+    @Query("UPDATE Booking b SET b.reminderSentAt = :now, b.reminderClaimedAt = NULL WHERE b.id IN :ids")
+    int markReminderSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.reminderClaimedAt = NULL WHERE b.id IN :ids")
+    int releaseReminderClaim(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+        SELECT new com.hotel.booking.repository.projection.ReminderRow(
+            b.id, b.userId, b.hotelId, b.hotelName, b.roomId, b.roomNumber,
+            b.guestName, b.guestEmail, b.guestPhone, b.checkInDate, b.checkOutDate)
+        FROM Booking b
+        WHERE b.id IN :ids
+        AND b.status = :status
+        ORDER BY b.id
+        """)
+    List<ReminderRow> findReminderRows(
+            @Param("ids") Collection<Long> ids,
+            @Param("status") BookingStatus status
+    );
+
+    List<Booking> findByCheckOutDateBetweenAndStatus(LocalDate from, LocalDate to, BookingStatus status);
+
+
+    // hotels that may have overdue arrivals; the sweep then applies each hotel's own local date
+    @Query("SELECT DISTINCT b.hotelId FROM Booking b WHERE b.status = 'CONFIRMED' AND b.checkInDate < :date")
+    List<Long> findHotelsWithConfirmedCheckInBefore(@Param("date") LocalDate date);
+
+    /**
+     * Next chunk of a hotel's confirmed bookings whose check-in date is before :date, in id order.
+     * Rows are locked so a check-in racing the no-show sweep either wins or sees the new status.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("""
         SELECT b FROM Booking b
         WHERE b.status = 'CONFIRMED'
         AND b.checkInDate < :date
+        AND b.hotelId = :hotelId
+        AND b.id > :afterId
+        ORDER BY b.id
+        """)
+    List<Booking> findOverdueConfirmedBookings(
+            @Param("hotelId") Long hotelId,
+            @Param("date") LocalDate date,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    @Modifying
+    @Query("""
+        UPDATE Booking b
+        SET b.status = :noShow, b.updatedAt = :now, b.updatedBy = 'system'
+        WHERE b.id IN :ids
+        AND b.status = :confirmed
         """)
-    List<Booking> findOverdueConfirmedBookings(@Param("date") LocalDate date);
+    int markNoShow(
+            @Param("ids") List<Long> ids,
+            @Param("confirmed") BookingStatus confirmed,
+            @Param("noShow") BookingStatus noShow,
+            @Param("now") LocalDateTime now
+    );
+
+    // bookings with at least one night inside [fromDate, toDate]; served by idx_hotel_status_checkout
+    @Query("""
+        SELECT COUNT(b) FROM Booking b
+        WHERE b.hotelId = :hotelId
+        AND b.status IN :statuses
+        AND b.checkOutDate > :fromDate
+        AND b.checkInDate <= :toDate
+        """)
+    long countStaysInRange(
+            @Param("hotelId") Long hotelId,
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate
+    );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT b FROM Booking b
+        WHERE b.hotelId = :hotelId
+        AND b.status IN :statuses
+        AND b.checkOutDate > :fromDate
+        AND b.checkInDate <= :toDate
+        AND b.id > :afterId
+        ORDER BY b.id
+        """)
+    List<Booking> findStaysInRangeForUpdate(
+            @Param("hotelId") Long hotelId,
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    @Modifying
+    @Query("""
+        UPDATE Booking b
+        SET b.status = :cancelled, b.cancelledAt = :today, b.holdExpiresAt = NULL,
+            b.updatedAt = :now, b.updatedBy = :actor
+        WHERE b.id IN :ids
+        AND b.status IN :statuses
+        """)
+    int cancelInBulk(
+            @Param("ids") List<Long> ids,
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("cancelled") BookingStatus cancelled,
+            @Param("today") LocalDate today,
+            @Param("now") LocalDateTime now,
+            @Param("actor") String actor
+    );
 
     @Query("""
         SELECT DISTINCT b.roomId FROM Booking b
         WHERE b.hotelId = :hotelId
-        AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT')
+        AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT', 'NO_SHOW')
         AND (
             (b.checkInDate <= :checkOutDate AND b.checkOutDate >= :checkInDate)
         )
@@ -155,33 +417,21 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             @Param("checkInDate") LocalDate checkInDate,
             @Param("checkOutDate") LocalDate checkOutDate
     );
-    // total revenue (exclude cancelled)
-    @Query("SELECT COALESCE(SUM(b.totalAmount), 0) FROM Booking b WHERE b.status != 'CANCELLED'")
-    Double getTotalRevenue();
-
-    // total bookings
-    @Query("SELECT COUNT(b) FROM Booking b WHERE b.status != 'CANCELLED'")
-    Long getTotalBookings();
-
-    // active bookings (confirmed + checked_in)
-    @Query("SELECT COUNT(b) FROM Booking b WHERE b.status IN ('CONFIRMED', 'CHECKED_IN')")
-    Long getActiveBookings();
-
-    // completed bookings
-    @Query("SELECT COUNT(b) FROM Booking b WHERE b.status = 'CHECKED_OUT'")
-    Long getCompletedBookings();
-
-    // cancelled bookings
-    @Query("SELECT COUNT(b) FROM Booking b WHERE b.status = 'CANCELLED'")
-    Long getCancelledBookings();
-
-    // pending payments
-    @Query("SELECT COUNT(b) FROM Booking b WHERE b.paymentStatus = 'PENDING' AND b.status != 'CANCELLED'")
-    Long getPendingPayments();
-
-    // average booking value
-    @Query("SELECT AVG(b.totalAmount) FROM Booking b WHERE b.status != 'CANCELLED'")
-    Double getAverageBookingValue();
+    // every dashboard figure in one scan, used to reconcile DashboardCounters; sums are null when the table is empty
+    @Query("""
+    SELECT new com.hotel.booking.repository.projection.DashboardTotals(
+        SUM(CASE WHEN b.status != 'CANCELLED' THEN 1 ELSE 0 END),
+        SUM(CASE WHEN b.status != 'CANCELLED' THEN b.totalAmount ELSE 0 END),
+        SUM(CASE WHEN b.status IN ('CONFIRMED', 'CHECKED_IN') THEN 1 ELSE 0 END),
+        SUM(CASE WHEN b.status = 'CHECKED_OUT' THEN 1 ELSE 0 END),
+        SUM(CASE WHEN b.status = 'CANCELLED' THEN 1 ELSE 0 END),
+        SUM(CASE WHEN b.checkInDate = :today AND b.status = 'CONFIRMED' THEN 1 ELSE 0 END),
+        SUM(CASE WHEN b.checkOutDate = :today AND b.status = 'CHECKED_IN' THEN 1 ELSE 0 END),
+        SUM(CASE WHEN b.paymentStatus = 'PENDING' AND b.status != 'CANCELLED' THEN 1 ELSE 0 END)
+    )
+    FROM Booking b
+    """)
+    DashboardTotals getDashboardTotals(@Param("today") LocalDate today);
 
     // revenue by hotel
     @Query("""
@@ -198,49 +448,206 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     """)
     List<HotelAnalyticsDto> getRevenueByHotel();
 
-    // revenue by date range
+    // revenue by the room type snapshotted onto each booking; rows the room snapshot backfill has not reached yet are left out
+    @Query("""
+    SELECT new com.hotel.booking.dto.analytics.RoomTypeAnalyticsDto(
+        b.roomType,
+        COUNT(b),
+        COALESCE(SUM(b.totalAmount), 0),
+        COALESCE(AVG(b.totalAmount), 0)
+    )
+    FROM Booking b
+    WHERE b.status != 'CANCELLED'
+    AND b.roomType IS NOT NULL
+    GROUP BY b.roomType
+    """)
+    List<RoomTypeAnalyticsDto> getRevenueByRoomType();
+
     @Query("""
-    SELECT new com.hotel.booking.dto.analytics.RevenueByDateDto(
-       CAST(b.createdAt as LocalDate),
+    SELECT new com.hotel.booking.dto.analytics.RoomTypeAnalyticsDto(
+        b.roomType,
+        COUNT(b),
+        COALESCE(SUM(b.totalAmount), 0),
+        COALESCE(AVG(b.totalAmount), 0)
+    )
+    FROM Booking b
+    WHERE b.hotelId = :hotelId
+    AND b.status != 'CANCELLED'
+    AND b.roomType IS NOT NULL
+    GROUP BY b.roomType
+    """)
+    List<RoomTypeAnalyticsDto> getRevenueByRoomTypeForHotel(@Param("hotelId") Long hotelId);
+
+    // revenue rollup sources: non-cancelled bookings per hotel and the day they were made, a created_at range scan
+    @Query("""
+    SELECT new com.hotel.booking.repository.projection.RevenueDayTotal(
+        b.hotelId,
+        CAST(b.createdAt AS LocalDate),
         COUNT(b),
         COALESCE(SUM(b.totalAmount), 0)
     )
     FROM Booking b
     WHERE b.status != 'CANCELLED'
-    AND CAST(b.createdAt AS LocalDate) BETWEEN :startDate AND :endDate
-    GROUP BY CAST(b.createdAt AS LocalDate)
-    ORDER BY CAST(b.createdAt AS LocalDate)
+    AND b.createdAt >= :from AND b.createdAt < :until
+    GROUP BY b.hotelId, CAST(b.createdAt AS LocalDate)
     """)
-    List<RevenueByDateDto> getRevenueByDateRange(
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate
+    List<RevenueDayTotal> getBookedTotals(
+            @Param("from") LocalDateTime from,
+            @Param("until") LocalDateTime until
     );
 
-    // revenue for specific hotel by date
+    // ... and per hotel and check-in day
     @Query("""
-    SELECT new com.hotel.booking.dto.analytics.RevenueByDateDto(
+    SELECT new com.hotel.booking.repository.projection.RevenueDayTotal(
+        b.hotelId,
         b.checkInDate,
         COUNT(b),
         COALESCE(SUM(b.totalAmount), 0)
     )
     FROM Booking b
-    WHERE b.hotelId = :hotelId
-    AND b.status != 'CANCELLED'
+    WHERE b.status != 'CANCELLED'
     AND b.checkInDate BETWEEN :startDate AND :endDate
-    GROUP BY b.checkInDate
-    ORDER BY b.checkInDate
+    GROUP BY b.hotelId, b.checkInDate
     """)
-    List<RevenueByDateDto> getRevenueByDateRangeForHotel(
-            @Param("hotelId") Long hotelId,
+    List<RevenueDayTotal> getArrivalTotals(
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate
     );
 
-    // today's check-ins count
+    @Query("""
+    SELECT new com.hotel.booking.repository.projection.BookingDateBounds(
+        MIN(b.createdAt), MIN(b.checkInDate), MAX(b.checkInDate)
+    )
+    FROM Booking b
+    """)
+    BookingDateBounds getDateBounds();
+
+    // today's arrivals and departures stay live queries; both only touch today's rows through an index
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.checkInDate = :date AND b.status = 'CONFIRMED'")
     Long getTodayCheckInsCount(@Param("date") LocalDate date);
 
-    // today's check-outs count
-    @Query("SELECT COUNT(b) FROM Booking b WHERE b.checkOutDate = :date AND b.status = 'CHECKED_IN'")
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.status = 'CHECKED_IN' AND b.checkOutDate = :date")
     Long getTodayCheckOutsCount(@Param("date") LocalDate date);
-}
\ No newline at end of file
+
+    // bookings created before room details were snapshotted, in id order
+    @Query("""
+        SELECT b.id AS id, b.hotelId AS hotelId, b.roomId AS roomId
+        FROM Booking b
+        WHERE b.roomNumber IS NULL AND b.id > :afterId
+        ORDER BY b.id
+        """)
+    List<BookingRoomView> findMissingRoomSnapshot(@Param("afterId") Long afterId, Pageable pageable);
+
+    // export rows one at a time; MySQL only streams a result set when fetch size is Integer.MIN_VALUE
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+        SELECT b FROM Booking b
+        WHERE (:hotelId IS NULL OR b.hotelId = :hotelId)
+        AND (:status IS NULL OR b.status = :status)
+        AND (:fromDate IS NULL OR b.checkInDate >= :fromDate)
+        AND (:toDate IS NULL OR b.checkInDate <= :toDate)
+        ORDER BY b.id
+        """)
+    Stream<Booking> streamForExport(
+            @Param("hotelId") Long hotelId,
+            @Param("status") BookingStatus status,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate
+    );
+
+    // change feed: rows modified after the watermark, skipping the last few seconds so that
+    // transactions still committing with an older updated_at are not jumped over
+    @Query(LIST_ROW + """
+        WHERE b.userId = :userId
+        AND b.updatedAt < :settledBefore
+        AND (b.updatedAt > :updatedAt OR (b.updatedAt = :updatedAt AND b.id > :id))
+        ORDER BY b.updatedAt, b.id
+        """)
+    List<BookingListRow> findUserChangesAfter(
+            @Param("userId") Long userId,
+            @Param("updatedAt") LocalDateTime updatedAt,
+            @Param("id") Long id,
+            @Param("settledBefore") LocalDateTime settledBefore,
+            Pageable pageable
+    );
+
+    @Query(LIST_ROW + """
+        WHERE b.hotelId = :hotelId
+        AND b.updatedAt < :settledBefore
+        AND (b.updatedAt > :updatedAt OR (b.updatedAt = :updatedAt AND b.id > :id))
+        ORDER BY b.updatedAt, b.id
+        """)
+    List<BookingListRow> findHotelChangesAfter(
+            @Param("hotelId") Long hotelId,
+            @Param("updatedAt") LocalDateTime updatedAt,
+            @Param("id") Long id,
+            @Param("settledBefore") LocalDateTime settledBefore,
+            Pageable pageable
+    );
+
+    // rows written before updated_at was maintained on insert
+    @Modifying
+    @Query(value = "UPDATE bookings SET updated_at = created_at WHERE updated_at IS NULL LIMIT :limit", nativeQuery = true)
+    int backfillUpdatedAt(@Param("limit") int limit);
+
+    // conditional GET probes - each is a single index lookup
+    @Query("SELECT b.id AS id, b.userId AS userId, b.hotelId AS hotelId, b.updatedAt AS updatedAt FROM Booking b WHERE b.id = :id")
+    Optional<BookingVersionView> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT MAX(b.updatedAt) FROM Booking b WHERE b.userId = :userId")
+    LocalDateTime findLastUpdateForUser(@Param("userId") Long userId);
+
+    @Query("SELECT MAX(b.updatedAt) FROM Booking b WHERE b.hotelId = :hotelId")
+    LocalDateTime findLastUpdateForHotel(@Param("hotelId") Long hotelId);
+
+    // guest search - each query walks one (hotel_id, key) index in order and stops at the limit
+    @Query(LIST_ROW + "WHERE b.hotelId = :hotelId AND b.guestNameKey LIKE :prefix ORDER BY b.guestNameKey, b.id")
+    List<BookingListRow> searchByGuestName(@Param("hotelId") Long hotelId, @Param("prefix") String prefix, Pageable pageable);
+
+    @Query(LIST_ROW + "WHERE b.hotelId = :hotelId AND b.guestSurnameKey LIKE :prefix ORDER BY b.guestSurnameKey, b.id")
+    List<BookingListRow> searchByGuestSurname(@Param("hotelId") Long hotelId, @Param("prefix") String prefix, Pageable pageable);
+
+    @Query(LIST_ROW + "WHERE b.hotelId = :hotelId AND b.guestEmailKey LIKE :prefix ORDER BY b.guestEmailKey, b.id")
+    List<BookingListRow> searchByGuestEmail(@Param("hotelId") Long hotelId, @Param("prefix") String prefix, Pageable pageable);
+
+    @Query(LIST_ROW + "WHERE b.hotelId = :hotelId AND b.guestPhoneKey LIKE :prefix ORDER BY b.guestPhoneKey, b.id")
+    List<BookingListRow> searchByGuestPhone(@Param("hotelId") Long hotelId, @Param("prefix") String prefix, Pageable pageable);
+
+    @Query(LIST_ROW + "WHERE b.hotelId = :hotelId AND b.guestPhoneRevKey LIKE :prefix ORDER BY b.guestPhoneRevKey, b.id")
+    List<BookingListRow> searchByGuestPhoneSuffix(@Param("hotelId") Long hotelId, @Param("prefix") String prefix, Pageable pageable);
+
+    @Query("""
+        SELECT b.id AS id, b.guestName AS guestName, b.guestEmail AS guestEmail, b.guestPhone AS guestPhone
+        FROM Booking b
+        WHERE b.guestNameKey IS NULL AND b.id > :afterId
+        ORDER BY b.id
+        """)
+    List<GuestContactView> findMissingGuestSearchKeys(@Param("afterId") Long afterId, Pageable pageable);
+
+    // front-desk day sheet: everything arriving, staying or leaving on :date plus overdue stays.
+    // both branches are bounded ranges on (hotel_id, status, check_out_date)
+    @Query(LIST_ROW + """
+        WHERE b.hotelId = :hotelId
+        AND (
+            (b.status IN :statuses AND b.checkOutDate >= :date AND b.checkInDate <= :date)
+            OR (b.status = :checkedIn AND b.checkOutDate < :date)
+        )
+        ORDER BY b.roomNumber, b.id
+        """)
+    List<BookingListRow> findDaySheet(
+            @Param("hotelId") Long hotelId,
+            @Param("date") LocalDate date,
+            @Param("statuses") List<BookingStatus> statuses,
+            @Param("checkedIn") BookingStatus checkedIn
+    );
+
+    @Query(LIST_ROW + "WHERE b.id IN :ids")
+    List<BookingListRow> findRowsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT MAX(b.id) FROM Booking b")
+    Long findMaxId();
+}
@@ -0,0 +1,48 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.entity.BookingTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BookingTombstoneRepository extends JpaRepository<BookingTombstone, Long> {
+
+    @Query("""
+        SELECT t FROM BookingTombstone t
+        WHERE t.userId = :userId AND t.id > :afterId AND t.deletedAt < :settledBefore
+        AND t.archived = false
+        ORDER BY t.id
+        """)
+    List<BookingTombstone> findUserTombstonesAfter(
+            @Param("userId") Long userId,
+            @Param("afterId") Long afterId,
+            @Param("settledBefore") LocalDateTime settledBefore,
+            Pageable pageable
+    );
+
+    @Query("""
+        SELECT t FROM BookingTombstone t
+        WHERE t.hotelId = :hotelId AND t.id > :afterId AND t.deletedAt < :settledBefore
+        ORDER BY t.id
+        """)
+    List<BookingTombstone> findHotelTombstonesAfter(
+            @Param("hotelId") Long hotelId,
+            @Param("afterId") Long afterId,
+            @Param("settledBefore") LocalDateTime settledBefore,
+            Pageable pageable
+    );
+
+    // latest deletion per scope, part of the list ETag
+    // archived bookings stay in my-bookings (served from the summaries), so only hotel scope counts them
+    @Query("SELECT MAX(t.id) FROM BookingTombstone t WHERE t.userId = :userId AND t.archived = false")
+    Long findLastIdForUser(@Param("userId") Long userId);
+
+    @Query("SELECT MAX(t.id) FROM BookingTombstone t WHERE t.hotelId = :hotelId")
+    Long findLastIdForHotel(@Param("hotelId") Long hotelId);
+}
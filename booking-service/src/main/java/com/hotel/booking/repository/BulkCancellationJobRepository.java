@@ -0,0 +1,49 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.entity.BulkCancellationJob;
+import com.hotel.booking.enums.BulkJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BulkCancellationJobRepository extends JpaRepository<BulkCancellationJob, Long> {
+
+    List<BulkCancellationJob> findByStatusIn(Collection<BulkJobStatus> statuses);
+
+    @Modifying
+    @Query("""
+        UPDATE BulkCancellationJob j
+        SET j.status = :running, j.startedAt = COALESCE(j.startedAt, :now), j.totalBookings = :total
+        WHERE j.id = :id
+        """)
+    int markRunning(
+            @Param("id") Long id,
+            @Param("running") BulkJobStatus running,
+            @Param("total") long total,
+            @Param("now") LocalDateTime now
+    );
+
+    @Modifying
+    @Query("UPDATE BulkCancellationJob j SET j.cancelledBookings = j.cancelledBookings + :count WHERE j.id = :id")
+    int addCancelled(@Param("id") Long id, @Param("count") long count);
+
+    @Modifying
+    @Query("""
+        UPDATE BulkCancellationJob j
+        SET j.status = :status, j.finishedAt = :now, j.errorMessage = :error
+        WHERE j.id = :id
+        """)
+    int markFinished(
+            @Param("id") Long id,
+            @Param("status") BulkJobStatus status,
+            @Param("error") String error,
+            @Param("now") LocalDateTime now
+    );
+}
@@ -0,0 +1,58 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.entity.DashboardCounterStripe;
+import com.hotel.booking.repository.projection.DashboardTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface DashboardCounterRepository extends JpaRepository<DashboardCounterStripe, Integer> {
+
+    // 1 when the stripe was created, 0 when another replica got there first
+    @Modifying
+    @Query(value = """
+        INSERT IGNORE INTO dashboard_counters
+            (stripe, bookings, revenue, active, completed, cancelled, pending_payments, updated_at)
+        VALUES (:stripe, 0, 0, 0, 0, 0, 0, NOW(6))
+        """, nativeQuery = true)
+    int createIfMissing(@Param("stripe") int stripe);
+
+    // relative update, so concurrent writers on the same stripe never lose each other's deltas
+    @Modifying
+    @Query("""
+        UPDATE DashboardCounterStripe c
+        SET c.bookings = c.bookings + :bookings,
+            c.revenue = c.revenue + :revenue,
+            c.active = c.active + :active,
+            c.completed = c.completed + :completed,
+            c.cancelled = c.cancelled + :cancelled,
+            c.pendingPayments = c.pendingPayments + :pendingPayments,
+            c.updatedAt = :now
+        WHERE c.stripe = :stripe
+        """)
+    int add(
+            @Param("stripe") int stripe,
+            @Param("bookings") long bookings,
+            @Param("revenue") double revenue,
+            @Param("active") long active,
+            @Param("completed") long completed,
+            @Param("cancelled") long cancelled,
+            @Param("pendingPayments") long pendingPayments,
+            @Param("now") LocalDateTime now
+    );
+
+    // today's figures are not counters, see BookingRepository.getTodayCheckInsCount
+    @Query("""
+    SELECT new com.hotel.booking.repository.projection.DashboardTotals(
+        SUM(c.bookings), SUM(c.revenue), SUM(c.active), SUM(c.completed), SUM(c.cancelled),
+        0L, 0L, SUM(c.pendingPayments)
+    )
+    FROM DashboardCounterStripe c
+    """)
+    DashboardTotals getTotals();
+}
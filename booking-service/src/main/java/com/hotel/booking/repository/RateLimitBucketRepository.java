@@ -0,0 +1,46 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.entity.RateLimitBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Token arithmetic runs in SQL against the database clock, so replicas with skewed
+ * clocks still refill the bucket at the configured rate.
+ */
+@Repository
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucket, String> {
+
+    // a new bucket starts full; 0 when another replica created it first
+    @Modifying
+    @Query(value = """
+        INSERT IGNORE INTO rate_limit_buckets (name, tokens, refilled_at)
+        VALUES (:name, :capacity, NOW(6))
+        """, nativeQuery = true)
+    int createIfMissing(@Param("name") String name, @Param("capacity") double capacity);
+
+    // adds the tokens accrued since the last refill and row-locks the bucket until commit
+    @Modifying
+    @Query(value = """
+        UPDATE rate_limit_buckets
+        SET tokens = LEAST(:capacity, tokens + TIMESTAMPDIFF(MICROSECOND, refilled_at, NOW(6)) * :ratePerSecond / 1000000),
+            refilled_at = NOW(6)
+        WHERE name = :name
+        """, nativeQuery = true)
+    int refill(@Param("name") String name, @Param("ratePerSecond") double ratePerSecond,
+               @Param("capacity") double capacity);
+
+    @Query(value = "SELECT tokens FROM rate_limit_buckets WHERE name = :name", nativeQuery = true)
+    Double findTokens(@Param("name") String name);
+
+    // negative counts give tokens back
+    @Modifying
+    @Query(value = """
+        UPDATE rate_limit_buckets SET tokens = LEAST(:capacity, tokens - :count)
+        WHERE name = :name
+        """, nativeQuery = true)
+    int take(@Param("name") String name, @Param("count") int count, @Param("capacity") double capacity);
+}
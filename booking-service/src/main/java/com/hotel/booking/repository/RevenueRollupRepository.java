@@ -0,0 +1,54 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.dto.analytics.RevenueByDateDto;
+import com.hotel.booking.entity.RevenueRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RevenueRollupRepository extends JpaRepository<RevenueRollup, RevenueRollup.Key> {
+
+    // days with bookings made on them, all hotels
+    @Query("""
+    SELECT new com.hotel.booking.dto.analytics.RevenueByDateDto(
+        r.rollupDate,
+        SUM(r.bookedCount),
+        SUM(r.bookedRevenue)
+    )
+    FROM RevenueRollup r
+    WHERE r.rollupDate BETWEEN :startDate AND :endDate
+    GROUP BY r.rollupDate
+    HAVING SUM(r.bookedCount) > 0
+    ORDER BY r.rollupDate
+    """)
+    List<RevenueByDateDto> getRevenueByDateRange(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // days with arrivals, one hotel; a primary key range
+    @Query("""
+    SELECT new com.hotel.booking.dto.analytics.RevenueByDateDto(
+        r.rollupDate,
+        r.arrivalCount,
+        r.arrivalRevenue
+    )
+    FROM RevenueRollup r
+    WHERE r.hotelId = :hotelId
+    AND r.rollupDate BETWEEN :startDate AND :endDate
+    AND r.arrivalCount > 0
+    ORDER BY r.rollupDate
+    """)
+    List<RevenueByDateDto> getRevenueByDateRangeForHotel(
+            @Param("hotelId") Long hotelId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    List<RevenueRollup> findByRollupDateBetween(LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,75 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease operations are single conditional statements evaluated against the database clock,
+ * so replicas with skewed clocks still agree on who owns what.
+ */
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // 1 if this call created the lease, 0 if someone already holds or finished it
+    @Modifying
+    @Query(value = """
+        INSERT IGNORE INTO scheduler_leases (name, owner, lease_until, acquired_at)
+        VALUES (:name, :owner, TIMESTAMPADD(SECOND, :ttl, NOW(6)), NOW(6))
+        """, nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name, @Param("owner") String owner, @Param("ttl") long ttlSeconds);
+
+    // takes over work whose owner stopped renewing before finishing it
+    @Modifying
+    @Query(value = """
+        UPDATE scheduler_leases
+        SET owner = :owner, lease_until = TIMESTAMPADD(SECOND, :ttl, NOW(6)), acquired_at = NOW(6)
+        WHERE name = :name AND completed_at IS NULL AND lease_until < NOW(6)
+        """, nativeQuery = true)
+    int takeOverExpired(@Param("name") String name, @Param("owner") String owner, @Param("ttl") long ttlSeconds);
+
+    @Modifying
+    @Query(value = """
+        UPDATE scheduler_leases SET lease_until = TIMESTAMPADD(SECOND, :ttl, NOW(6))
+        WHERE name = :name AND owner = :owner AND completed_at IS NULL
+        """, nativeQuery = true)
+    int renew(@Param("name") String name, @Param("owner") String owner, @Param("ttl") long ttlSeconds);
+
+    @Modifying
+    @Query(value = """
+        UPDATE scheduler_leases SET lease_until = TIMESTAMPADD(SECOND, :ttl, NOW(6)), checkpoint = :checkpoint
+        WHERE name = :name AND owner = :owner AND completed_at IS NULL
+        """, nativeQuery = true)
+    int renewWithCheckpoint(@Param("name") String name, @Param("owner") String owner, @Param("ttl") long ttlSeconds,
+                            @Param("checkpoint") String checkpoint);
+
+    @Query(value = "SELECT checkpoint FROM scheduler_leases WHERE name = :name", nativeQuery = true)
+    String findCheckpoint(@Param("name") String name);
+
+    // 1 while a holder is still working on it and renewing in time
+    @Query(value = """
+        SELECT COUNT(*) FROM scheduler_leases
+        WHERE name = :name AND completed_at IS NULL AND lease_until >= NOW(6)
+        """, nativeQuery = true)
+    int countHeld(@Param("name") String name);
+
+    @Modifying
+    @Query(value = """
+        UPDATE scheduler_leases SET completed_at = NOW(6)
+        WHERE name = :name AND owner = :owner AND completed_at IS NULL
+        """, nativeQuery = true)
+    int complete(@Param("name") String name, @Param("owner") String owner);
+
+    @Modifying
+    @Query(value = "DELETE FROM scheduler_leases WHERE name = :name AND owner = :owner", nativeQuery = true)
+    int release(@Param("name") String name, @Param("owner") String owner);
+
+    @Modifying
+    @Query(value = "DELETE FROM scheduler_leases WHERE completed_at < :before LIMIT :limit", nativeQuery = true)
+    int deleteCompletedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -0,0 +1,76 @@
+package com.hotel.booking.repository;
+
+import com.hotel.booking.entity.UserBookingSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserBookingSummaryRepository extends JpaRepository<UserBookingSummary, Long> {
+
+    // copies the current bookings rows, so the summary can never drift from what was committed
+    String UPSERT_FROM_BOOKINGS = """
+        INSERT INTO user_booking_summaries
+            (booking_id, user_id, hotel_id, hotel_name, room_number, room_type, check_in_date, check_out_date,
+             guest_name, guest_email, guest_phone, number_of_guests, status, payment_status, payment_method, paid_at,
+             total_amount, hold_expires_at, created_at, updated_at)
+        SELECT b.id, b.user_id, b.hotel_id, b.hotel_name, b.room_number, b.room_type, b.check_in_date, b.check_out_date,
+             b.guest_name, b.guest_email, b.guest_phone, b.number_of_guests, b.status, b.payment_status,
+             b.payment_method, b.paid_at, b.total_amount, b.hold_expires_at, b.created_at, b.updated_at
+        FROM bookings b
+        """;
+    String ON_DUPLICATE = """
+        ON DUPLICATE KEY UPDATE
+            hotel_name = VALUES(hotel_name), room_number = VALUES(room_number), room_type = VALUES(room_type),
+            check_in_date = VALUES(check_in_date), check_out_date = VALUES(check_out_date),
+            guest_name = VALUES(guest_name), guest_email = VALUES(guest_email), guest_phone = VALUES(guest_phone),
+            number_of_guests = VALUES(number_of_guests), status = VALUES(status),
+            payment_status = VALUES(payment_status), payment_method = VALUES(payment_method),
+            paid_at = VALUES(paid_at), total_amount = VALUES(total_amount),
+            hold_expires_at = VALUES(hold_expires_at), updated_at = VALUES(updated_at)
+        """;
+
+    @Modifying
+    @Query(value = UPSERT_FROM_BOOKINGS + "WHERE b.id IN (:ids) " + ON_DUPLICATE, nativeQuery = true)
+    int upsertFromBookings(@Param("ids") Collection<Long> ids);
+
+    // backfill: bookings in the id range with no summary row, or one written before the guest and payment columns
+    @Modifying
+    @Query(value = UPSERT_FROM_BOOKINGS + """
+        WHERE b.id BETWEEN :fromId AND :toId
+        AND NOT EXISTS (SELECT 1 FROM user_booking_summaries s WHERE s.booking_id = b.id AND s.guest_name IS NOT NULL)
+        """ + ON_DUPLICATE, nativeQuery = true)
+    int insertMissing(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // lowest booking id the backfill still has to cover, null once the read model is complete; a primary key anti-join
+    @Query(value = """
+        SELECT MIN(b.id) FROM bookings b
+        LEFT JOIN user_booking_summaries s ON s.booking_id = b.id
+        WHERE s.booking_id IS NULL OR s.guest_name IS NULL
+        """, nativeQuery = true)
+    Long findFirstMissingBookingId();
+
+    // keyset pages, newest first, same ordering as the bookings list queries
+    @Query("SELECT s FROM UserBookingSummary s WHERE s.userId = :userId ORDER BY s.createdAt DESC, s.bookingId DESC")
+    List<UserBookingSummary> findUserFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+        SELECT s FROM UserBookingSummary s
+        WHERE s.userId = :userId
+        AND (s.createdAt < :createdAt OR (s.createdAt = :createdAt AND s.bookingId < :id))
+        ORDER BY s.createdAt DESC, s.bookingId DESC
+        """)
+    List<UserBookingSummary> findUserPageAfter(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+}
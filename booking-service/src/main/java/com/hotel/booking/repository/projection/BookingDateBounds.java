@@ -0,0 +1,12 @@
+package com.hotel.booking.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// all null when the table is empty
+public record BookingDateBounds(
+        LocalDateTime firstCreatedAt,
+        LocalDate firstCheckIn,
+        LocalDate lastCheckIn
+) {
+}
@@ -0,0 +1,33 @@
+package com.hotel.booking.repository.projection;
+
+import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.enums.PaymentStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Columns shown in booking lists, filled by a JPQL constructor expression.
+ * Rows are plain values: no persistence context entry and no dirty-checking snapshot.
+ */
+public record BookingListRow(
+        Long id,
+        String hotelName,
+        String roomNumber,
+        String roomType,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        float totalAmount,
+        BookingStatus status,
+        String guestName,
+        String guestEmail,
+        String guestPhone,
+        Integer numberOfGuests,
+        PaymentStatus paymentStatus,
+        String paymentMethod,
+        LocalDateTime paidAt,
+        LocalDateTime holdExpiresAt,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,8 @@
+package com.hotel.booking.repository.projection;
+
+// the room a booking points at, enough to look its details up in hotel-service
+public interface BookingRoomView {
+    Long getId();
+    Long getHotelId();
+    Long getRoomId();
+}
@@ -0,0 +1,11 @@
+package com.hotel.booking.repository.projection;
+
+import java.time.LocalDateTime;
+
+// just enough of a booking to authorize a read and build its ETag
+public interface BookingVersionView {
+    Long getId();
+    Long getUserId();
+    Long getHotelId();
+    LocalDateTime getUpdatedAt();
+}
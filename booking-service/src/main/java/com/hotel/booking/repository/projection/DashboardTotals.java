@@ -0,0 +1,14 @@
+package com.hotel.booking.repository.projection;
+
+// dashboard figures of one bookings table; sums are null when the table is empty
+public record DashboardTotals(
+        Number bookings,
+        Number revenue,
+        Number active,
+        Number completed,
+        Number cancelled,
+        Number todayCheckIns,
+        Number todayCheckOuts,
+        Number pendingPayments
+) {
+}
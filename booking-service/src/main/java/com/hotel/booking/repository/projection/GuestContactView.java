@@ -0,0 +1,9 @@
+package com.hotel.booking.repository.projection;
+
+// the guest fields the search keys are derived from
+public interface GuestContactView {
+    Long getId();
+    String getGuestName();
+    String getGuestEmail();
+    String getGuestPhone();
+}
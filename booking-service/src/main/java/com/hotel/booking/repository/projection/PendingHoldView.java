@@ -0,0 +1,9 @@
+package com.hotel.booking.repository.projection;
+
+import java.time.LocalDateTime;
+
+// id and deadline of an unexpired hold - enough to re-arm the expiry wheel after a restart
+public interface PendingHoldView {
+    Long getId();
+    LocalDateTime getHoldExpiresAt();
+}
@@ -0,0 +1,7 @@
+package com.hotel.booking.repository.projection;
+
+import java.time.LocalDate;
+
+// a hotel with at least one arrival on checkInDate whose check-in reminder is still unsent
+public record PendingReminderDay(Long hotelId, LocalDate checkInDate) {
+}
@@ -0,0 +1,19 @@
+package com.hotel.booking.repository.projection;
+
+import java.time.LocalDate;
+
+// what a check-in reminder needs from a booking; hotel name and room number come from the booking snapshot
+public record ReminderRow(
+        Long id,
+        Long userId,
+        Long hotelId,
+        String hotelName,
+        Long roomId,
+        String roomNumber,
+        String guestName,
+        String guestEmail,
+        String guestPhone,
+        LocalDate checkInDate,
+        LocalDate checkOutDate
+) {
+}
@@ -0,0 +1,12 @@
+package com.hotel.booking.repository.projection;
+
+import java.time.LocalDate;
+
+// non-cancelled bookings of a hotel on a day, the source figures of a revenue rollup row
+public record RevenueDayTotal(
+        Long hotelId,
+        LocalDate day,
+        Number bookings,
+        Number revenue
+) {
+}
@@ -0,0 +1,95 @@
+package com.hotel.booking.scheduler;
+
+import com.hotel.booking.repository.ArchivedBookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves bookings that were closed (cancelled, checked out, no-show) more than
+ * booking.archive.retention-days ago into bookings_archive, so the hot table and its
+ * indexes only hold live and recent bookings. Each chunk is one transaction:
+ * lock the ids, INSERT ... SELECT into the archive, write archive tombstones, DELETE from bookings.
+ * The tombstones move the hotel list ETags and tell hotel sync clients the rows are gone.
+ * Archived bookings stay readable by id, in my-bookings and in analytics; hotel lists,
+ * day sheets and guest search only cover the hot table.
+ */
+@Slf4j
+@Component
+public class BookingArchiveJob {
+
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final SchedulerLeaseManager leaseManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${booking.archive.enabled:true}")
+    private boolean enabled;
+    @Value("${booking.archive.retention-days:180}")
+    private long retentionDays;
+    @Value("${booking.archive.chunk-size:1000}")
+    private int chunkSize;
+
+    public BookingArchiveJob(ArchivedBookingRepository archivedBookingRepository,
+                             SchedulerLeaseManager leaseManager,
+                             PlatformTransactionManager transactionManager) {
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.leaseManager = leaseManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // READ COMMITTED: rows the scan skips are unlocked straight away instead of held to commit
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    @Scheduled(cron = "${booking.archive.cron:0 45 2 * * *}")
+    public void archiveClosedBookings() {
+        String lease = "booking-archive:" + LocalDate.now();
+        if (!enabled || !leaseManager.tryAcquire(lease)) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long started = System.currentTimeMillis();
+        // a taken-over run continues after the last chunk its previous holder committed
+        String checkpoint = leaseManager.checkpoint(lease);
+        long afterId = checkpoint != null ? Long.parseLong(checkpoint) : 0L;
+        int total = 0;
+        while (true) {
+            long cursor = afterId;
+            List<Long> archived = transactionTemplate.execute(status -> archiveChunk(cutoff, cursor));
+            if (archived == null || archived.isEmpty()) {
+                break;
+            }
+            total += archived.size();
+            afterId = archived.get(archived.size() - 1);
+            if (archived.size() < chunkSize || !leaseManager.renew(lease, String.valueOf(afterId))) {
+                break;
+            }
+        }
+        leaseManager.complete(lease);
+        if (total > 0) {
+            log.info("Archived {} bookings closed before {} in {} ms",
+                    total, cutoff, System.currentTimeMillis() - started);
+        }
+    }
+
+    private List<Long> archiveChunk(LocalDateTime cutoff, long afterId) {
+        List<Long> ids = archivedBookingRepository.lockClosedBefore(cutoff, afterId, chunkSize);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int copied = archivedBookingRepository.copyFromBookings(ids, now);
+        if (copied != ids.size()) {
+            throw new IllegalStateException("Archived " + copied + " of " + ids.size() + " locked bookings");
+        }
+        archivedBookingRepository.tombstoneArchived(ids, now);
+        archivedBookingRepository.deleteFromBookings(ids);
+        return ids;
+    }
+}
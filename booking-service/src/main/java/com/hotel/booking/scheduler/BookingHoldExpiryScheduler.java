@@ -0,0 +1,161 @@
+package com.hotel.booking.scheduler;
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.event.BookingStateChangedEvent;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.projection.PendingHoldView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Expires PENDING booking holds.
+ * Deadlines live in an in-process timing wheel, so the fast path polls nothing;
+ * hold_expires_at is the durable copy used to re-arm the wheel on startup.
+ * A wheel only holds the timers of its own replica, so a slow periodic sweep under a
+ * lease releases holds that stayed overdue, e.g. because the replica that took them died.
+ */
+@Slf4j
+@Component
+public class BookingHoldExpiryScheduler {
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SchedulerLeaseManager leaseManager;
+    private final HierarchicalTimingWheel<Long> wheel;
+
+    @Value("${booking.hold.release-batch-size:500}")
+    private int releaseBatchSize;
+    @Value("${booking.hold.load-page-size:1000}")
+    private int loadPageSize;
+    @Value("${booking.hold.sweep-grace-seconds:60}")
+    private long sweepGraceSeconds;
+
+    public BookingHoldExpiryScheduler(BookingRepository bookingRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      ApplicationEventPublisher eventPublisher,
+                                      SchedulerLeaseManager leaseManager,
+                                      @Value("${booking.hold.tick-ms:1000}") long tickMs,
+                                      @Value("${booking.hold.wheel-size:60}") int wheelSize) {
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.leaseManager = leaseManager;
+        this.wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+    }
+
+    // called once the hold row has been written
+    public void register(Long bookingId, LocalDateTime expiresAt) {
+        if (!wheel.schedule(bookingId, toEpochMillis(expiresAt))) {
+            releaseExpiredHolds(List.of(bookingId));
+        }
+    }
+
+    //re-arm holds that were pending when the service stopped
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingHolds() {
+        List<Long> alreadyExpired = new ArrayList<>();
+        int loaded = 0;
+        long afterId = 0L;
+        List<PendingHoldView> page;
+        do {
+            page = bookingRepository.findPendingHolds(
+                    BookingStatus.PENDING, afterId, PageRequest.of(0, loadPageSize));
+            for (PendingHoldView hold : page) {
+                if (!wheel.schedule(hold.getId(), toEpochMillis(hold.getHoldExpiresAt()))) {
+                    alreadyExpired.add(hold.getId());
+                }
+                afterId = hold.getId();
+            }
+            loaded += page.size();
+        } while (page.size() == loadPageSize);
+        log.info("Loaded {} pending booking holds, {} already expired", loaded, alreadyExpired.size());
+        releaseExpiredHolds(alreadyExpired);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.hold.tick-ms:1000}")
+    public void expireHolds() {
+        List<Long> expired = wheel.advance(System.currentTimeMillis());
+        if (!expired.isEmpty()) {
+            releaseExpiredHolds(expired);
+        }
+    }
+
+    // the grace leaves holds to their own wheel while its replica is alive
+    @Scheduled(fixedDelayString = "${booking.hold.sweep-ms:60000}")
+    public void sweepOverdueHolds() {
+        // one fixed name, released after each run, so the sweep leaves no lease row behind
+        String lease = "hold-sweep";
+        if (!leaseManager.tryAcquire(lease)) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(sweepGraceSeconds);
+        List<Long> overdue;
+        do {
+            // released holds leave the result, so the first page is re-read until it runs short
+            overdue = bookingRepository.findOverdueHoldIds(
+                    BookingStatus.PENDING, cutoff, PageRequest.of(0, releaseBatchSize));
+            if (!overdue.isEmpty()) {
+                log.warn("Sweeping {} booking holds overdue by more than {}s", overdue.size(), sweepGraceSeconds);
+                releaseExpiredHolds(overdue);
+            }
+        } while (overdue.size() == releaseBatchSize && leaseManager.renew(lease));
+        leaseManager.release(lease);
+    }
+
+    /**
+     * Cancels expired holds in chunks of bulk updates. Holds that were confirmed or
+     * cancelled in the meantime no longer match and are left untouched. The matching
+     * rows are locked first so a state-change event is published for each released hold.
+     */
+    private void releaseExpiredHolds(List<Long> bookingIds) {
+        int released = 0;
+        for (int from = 0; from < bookingIds.size(); from += releaseBatchSize) {
+            List<Long> chunk = bookingIds.subList(from, Math.min(from + releaseBatchSize, bookingIds.size()));
+            LocalDateTime now = LocalDateTime.now();
+            Integer count = transactionTemplate.execute(status -> releaseChunk(chunk, now));
+            released += count != null ? count : 0;
+        }
+        if (released > 0) {
+            log.info("Released {} expired booking holds ({} timers fired, {} still pending)",
+                    released, bookingIds.size(), wheel.size());
+        }
+    }
+
+    private int releaseChunk(List<Long> bookingIds, LocalDateTime now) {
+        List<Booking> holds = bookingRepository.findExpiredHoldsForUpdate(bookingIds, BookingStatus.PENDING, now);
+        if (holds.isEmpty()) {
+            return 0;
+        }
+        List<Long> lockedIds = holds.stream().map(Booking::getId).toList();
+        int released = bookingRepository.releaseExpiredHolds(
+                lockedIds, BookingStatus.PENDING, BookingStatus.CANCELLED, LocalDate.now(), now);
+        for (Booking hold : holds) {
+            // the bulk update bypassed the loaded entities, so they still read PENDING
+            BookingStateChangedEvent event = BookingStateChangedEvent.of(hold, BookingStatus.PENDING,
+                    hold.getPaymentStatus(), "system");
+            event.setNewStatus(BookingStatus.CANCELLED);
+            eventPublisher.publishEvent(event);
+        }
+        return released;
+    }
+
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
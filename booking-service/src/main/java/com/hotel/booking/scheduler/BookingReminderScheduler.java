@@ -1,81 +1,332 @@
 package com.hotel.booking.scheduler;
 
 import com.hotel.booking.client.HotelServiceClient;
+import com.hotel.booking.dto.external.HotelDto;
 import com.hotel.booking.dto.external.RoomDto;
 import com.hotel.booking.entity.Booking;
 import com.hotel.booking.enums.BookingStatus;
 import com.hotel.booking.event.CheckInReminderEvent;
 import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.RateLimitBucketRepository;
+import com.hotel.booking.repository.projection.PendingReminderDay;
+import com.hotel.booking.repository.projection.ReminderRow;
+import com.hotel.booking.scheduler.HotelReminderWindows.ReminderWindow;
 import com.hotel.booking.service.KafkaProducerService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.time.LocalDate;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 //scheduler for booking reminder
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class BookingReminderScheduler {
 
     private final BookingRepository bookingRepository;
     private final HotelServiceClient hotelServiceClient;
     private final KafkaProducerService kafkaProducerService;
+    private final SchedulerLeaseManager leaseManager;
+    private final HotelReminderWindows reminderWindows;
+    private final TransactionTemplate claimTransaction;
+    // caps the send rate of all replicas together; bursts are bounded by the bucket capacity
+    private final SharedTokenBucket sendRate;
+    // bounded worker pool: at most `parallelism` batches are being published at once
+    private final ExecutorService publishExecutor;
+    private final Semaphore freeWorkers;
+    private final Counter remindersSent;
+    private final Counter remindersFailed;
+    // hotels whose send window is open right now, grouped by the arrival date they are due for
+    private final AtomicInteger dueHotels = new AtomicInteger();
+    private List<DueArrivals> duePlan = new ArrayList<>();
+    private long planExpiresAt;
+    private HotelLookups lookups = new HotelLookups();
 
-    //sends check in reminders -24 hours before checkin
-    @Scheduled(cron = "0 0 9 * * *") // for testing , in production it will be sent 0 0 9 * * *
-    public void sendCheckInReminders() {
-        LocalDate tomorrow = LocalDate.now().plusDays(1);
-        // Find all confirmed bookings with check-in tomorrow
-        List<Booking> upcomingBookings = bookingRepository
-                .findByCheckInDateAndStatus(tomorrow, BookingStatus.CONFIRMED);
-        log.info("Found {} bookings with check-in tomorrow ({})",
-                upcomingBookings.size(), tomorrow);
-        upcomingBookings.forEach(booking -> {
+    @Value("${booking.reminder.chunk-size:500}")
+    private int chunkSize;
+    @Value("${booking.reminder.send-timeout-ms:30000}")
+    private long sendTimeoutMs;
+    @Value("${booking.reminder.plan-refresh-ms:60000}")
+    private long planRefreshMs;
+    @Value("${booking.reminder.claim-timeout-seconds:300}")
+    private long claimTimeoutSeconds;
+
+    public BookingReminderScheduler(BookingRepository bookingRepository,
+                                    HotelServiceClient hotelServiceClient,
+                                    KafkaProducerService kafkaProducerService,
+                                    SchedulerLeaseManager leaseManager,
+                                    HotelReminderWindows reminderWindows,
+                                    RateLimitBucketRepository rateLimitBucketRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${booking.reminder.parallelism:4}") int parallelism,
+                                    @Value("${booking.reminder.rate-per-second:20}") double ratePerSecond,
+                                    @Value("${booking.reminder.burst:100}") double burst) {
+        this.bookingRepository = bookingRepository;
+        this.hotelServiceClient = hotelServiceClient;
+        this.kafkaProducerService = kafkaProducerService;
+        this.leaseManager = leaseManager;
+        this.reminderWindows = reminderWindows;
+        this.claimTransaction = new TransactionTemplate(transactionManager);
+        // READ COMMITTED: the claim locks only the rows it returns, no gap locks
+        this.claimTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.sendRate = new SharedTokenBucket("checkin-reminders", ratePerSecond, burst,
+                rateLimitBucketRepository, transactionManager);
+        AtomicInteger threadIds = new AtomicInteger();
+        this.publishExecutor = Executors.newFixedThreadPool(parallelism,
+                r -> new Thread(r, "checkin-reminder-" + threadIds.incrementAndGet()));
+        this.freeWorkers = new Semaphore(parallelism);
+        this.remindersSent = Counter.builder("booking.reminders.checkin")
+                .tag("result", "sent").register(meterRegistry);
+        this.remindersFailed = Counter.builder("booking.reminders.checkin")
+                .tag("result", "failed").register(meterRegistry);
+        Gauge.builder("booking.reminders.checkin.due.hotels", dueHotels, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Releases check in reminders the day before arrival, inside each hotel's local send window.
+     * Every tick takes what the token bucket allows, claims that many unsent arrivals of hotels whose
+     * window is open (SKIP LOCKED, so replicas claim disjoint batches) and publishes them on the worker pool.
+     * A reminder is marked sent only once Kafka acknowledged it. A failed send releases the claim, and
+     * the claim of a replica that died mid-send times out, so either way the booking is retried on a later
+     * tick; a crash between the ack and the mark can send a reminder twice, never zero times.
+     */
+    @Scheduled(fixedDelayString = "${booking.reminder.tick-ms:1000}")
+    public void releaseCheckInReminders() {
+        if (System.currentTimeMillis() >= planExpiresAt) {
+            refreshPlan();
+        }
+        if (duePlan.isEmpty()) {
+            return;
+        }
+        int budget = sendRate.tryTake(chunkSize);
+        int claimed = 0;
+        try {
+            Iterator<DueArrivals> plan = duePlan.iterator();
+            while (claimed < budget && plan.hasNext() && freeWorkers.tryAcquire()) {
+                // the permit goes back here unless a task was submitted to release it
+                boolean submitted = false;
+                try {
+                    DueArrivals due = plan.next();
+                    List<Long> ids = claim(due, budget - claimed);
+                    if (ids.isEmpty()) {
+                        // everything due for these hotels is sent or being sent by another replica
+                        plan.remove();
+                        continue;
+                    }
+                    HotelLookups runLookups = lookups;
+                    try {
+                        publishExecutor.execute(() -> {
+                            try {
+                                publishBatch(ids, runLookups);
+                            } finally {
+                                freeWorkers.release();
+                            }
+                        });
+                    } catch (RuntimeException e) {
+                        // not handed to a worker, so let the next tick claim them instead of waiting for the timeout
+                        claimTransaction.executeWithoutResult(status -> bookingRepository.releaseReminderClaim(ids));
+                        throw e;
+                    }
+                    submitted = true;
+                    claimed += ids.size();
+                } finally {
+                    if (!submitted) {
+                        freeWorkers.release();
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Check-in reminder tick failed: {}", e.getMessage());
+        } finally {
+            sendRate.refund(budget - claimed);
+        }
+    }
+
+    private void refreshPlan() {
+        planExpiresAt = System.currentTimeMillis() + planRefreshMs;
+        Instant now = Instant.now();
+        LocalDate today = LocalDate.now();
+        // every hotel-local "tomorrow" lies within a day of the server's tomorrow
+        List<PendingReminderDay> pending = bookingRepository.findPendingReminderDays(
+                today, today.plusDays(2), BookingStatus.CONFIRMED);
+        Map<LocalDate, Set<Long>> due = new TreeMap<>();
+        for (PendingReminderDay day : pending) {
+            if (reminderWindows.forHotel(day.hotelId()).isOpenBefore(day.checkInDate(), now)) {
+                due.computeIfAbsent(day.checkInDate(), d -> new TreeSet<>()).add(day.hotelId());
+            }
+        }
+        List<DueArrivals> plan = new ArrayList<>(due.size());
+        due.forEach((date, hotelIds) -> plan.add(new DueArrivals(date, List.copyOf(hotelIds))));
+        int hotels = due.values().stream().mapToInt(Set::size).sum();
+        if (hotels > 0 || dueHotels.get() > 0) {
+            log.info("Check-in reminder plan: {} hotels in their send window", hotels);
+        }
+        duePlan = plan;
+        dueHotels.set(hotels);
+        // hotel-service data is reread once per plan
+        lookups = new HotelLookups();
+    }
+
+    private List<Long> claim(DueArrivals due, int limit) {
+        List<Long> ids = claimTransaction.execute(status -> {
+            List<Long> locked = bookingRepository.lockDueReminders(
+                    due.checkInDate(), due.hotelIds(), claimTimeoutSeconds, limit);
+            if (!locked.isEmpty()) {
+                bookingRepository.markReminderClaimed(locked);
+            }
+            return locked;
+        });
+        return ids != null ? ids : List.of();
+    }
+
+    private void publishBatch(List<Long> ids, HotelLookups lookups) {
+        List<ReminderRow> rows = bookingRepository.findReminderRows(ids, BookingStatus.CONFIRMED);
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(rows.size());
+        for (ReminderRow row : rows) {
             try {
-                // Fetch room details
-                RoomDto room = hotelServiceClient.getRoomById(booking.getRoomId());
-                // Create reminder event
-                CheckInReminderEvent event = CheckInReminderEvent.builder()
-                        .bookingId(booking.getId())
-                        .userId(booking.getUserId())
-                        .guestName(booking.getGuestName())
-                        .guestEmail(booking.getGuestEmail())
-                        .guestPhone(booking.getGuestPhone())
-                        .hotelId(booking.getHotelId())
-                        .hotelName("Hotel Name") // Can fetch from hotel-service
-                        .roomId(booking.getRoomId())
-                        .roomNumber(room.getRoomNumber())
-                        .checkInDate(booking.getCheckInDate())
-                        .checkOutDate(booking.getCheckOutDate())
-                        .build();
-                kafkaProducerService.publishCheckInReminder(event);
-                log.info("Sent check-in reminder for booking {}", booking.getId());
+                sends.add(kafkaProducerService.publishCheckInReminder(toEvent(row, lookups)));
             } catch (Exception e) {
-                log.error("Failed to send reminder for booking {}: {}",
-                        booking.getId(), e.getMessage());
+                log.error("Failed to send reminder for booking {}: {}", row.id(), e.getMessage());
+                sends.add(CompletableFuture.failedFuture(e));
+            }
+        }
+        kafkaProducerService.flush();
+        List<Long> sent = new ArrayList<>();
+        List<Long> failed = new ArrayList<>();
+        for (int i = 0; i < sends.size(); i++) {
+            try {
+                sends.get(i).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                sent.add(rows.get(i).id());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.add(rows.get(i).id());
+            } catch (ExecutionException | TimeoutException e) {
+                log.error("Failed to send reminder for booking {}: {}", rows.get(i).id(), e.getMessage());
+                failed.add(rows.get(i).id());
+            }
+        }
+        // if this does not commit, the claims time out and the acknowledged reminders go out once more
+        claimTransaction.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                bookingRepository.markReminderSent(sent, LocalDateTime.now());
+            }
+            if (!failed.isEmpty()) {
+                bookingRepository.releaseReminderClaim(failed);
             }
         });
-        log.info("Check-in reminder job completed");
+        remindersSent.increment(sent.size());
+        remindersFailed.increment(failed.size());
+    }
+
+    private CheckInReminderEvent toEvent(ReminderRow row, HotelLookups lookups) {
+        // bookings created before the room snapshot existed fall back to one lookup per hotel
+        String hotelName = row.hotelName() != null ? row.hotelName() : lookups.hotelName(row.hotelId());
+        String roomNumber = row.roomNumber() != null ? row.roomNumber() : lookups.roomNumber(row.hotelId(), row.roomId());
+        return CheckInReminderEvent.builder()
+                .bookingId(row.id())
+                .userId(row.userId())
+                .guestName(row.guestName())
+                .guestEmail(row.guestEmail())
+                .guestPhone(row.guestPhone())
+                .hotelId(row.hotelId())
+                .hotelName(hotelName)
+                .roomId(row.roomId())
+                .roomNumber(roomNumber)
+                .checkInDate(row.checkInDate())
+                .checkOutDate(row.checkOutDate())
+                .build();
+    }
+
+    private record DueArrivals(LocalDate checkInDate, List<Long> hotelIds) {
+    }
+
+    // per-plan cache of hotel-service data, shared by the worker threads
+    private class HotelLookups {
+        private final Map<Long, String> hotelNames = new ConcurrentHashMap<>();
+        private final Map<Long, Map<Long, String>> roomNumbers = new ConcurrentHashMap<>();
+
+        String hotelName(Long hotelId) {
+            return hotelNames.computeIfAbsent(hotelId, id -> {
+                try {
+                    HotelDto hotel = hotelServiceClient.getHotelByIdWrapped(id).getData();
+                    return hotel != null && hotel.getName() != null ? hotel.getName() : "";
+                } catch (Exception e) {
+                    log.warn("Could not load hotel {} for reminders: {}", id, e.getMessage());
+                    return "";
+                }
+            });
+        }
+
+        String roomNumber(Long hotelId, Long roomId) {
+            return roomNumbers.computeIfAbsent(hotelId, id -> {
+                try {
+                    return hotelServiceClient.getRoomsByHotelId(id).stream()
+                            .filter(room -> room.getRoomNumber() != null)
+                            .collect(Collectors.toMap(RoomDto::getId, RoomDto::getRoomNumber, (a, b) -> a));
+                } catch (Exception e) {
+                    log.warn("Could not load rooms of hotel {} for reminders: {}", id, e.getMessage());
+                    return Map.of();
+                }
+            }).get(roomId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        publishExecutor.shutdown();
     }
-    //send checkout reminder
-    @Scheduled(cron = "0 0 8 * * *")
+
+    /**
+     * Check-out reminders go out once per hotel, in the hour its send window opens on the departure day.
+     * Runs hourly; each hour is handled by the replica holding that hour's lease.
+     */
+    @Scheduled(cron = "0 0 * * * *")
     public void sendCheckOutReminders() {
-        log.info("Starting check-out reminder job...");
-        LocalDate today = LocalDate.now();
-        // Find all checked-in bookings with check-out today
-        List<Booking> checkingOutToday = bookingRepository
-                .findByCheckOutDateAndStatus(today, BookingStatus.CHECKED_IN);
-        log.info("Found {} bookings with check-out today", checkingOutToday.size());
-        checkingOutToday.forEach(booking -> {
+        Instant now = Instant.now();
+        LocalDateTime hour = LocalDateTime.now().withMinute(0).withSecond(0).withNano(0);
+        String lease = "checkout-reminder:" + hour;
+        if (!leaseManager.tryAcquire(lease)) {
+            return;
+        }
+        LocalDate today = hour.toLocalDate();
+        // Find all checked-in bookings whose hotel-local check-out day may be today
+        List<Booking> checkingOut = bookingRepository
+                .findByCheckOutDateBetweenAndStatus(today.minusDays(1), today.plusDays(1), BookingStatus.CHECKED_IN);
+        int reminded = 0;
+        for (Booking booking : checkingOut) {
+            ReminderWindow window = reminderWindows.forHotel(booking.getHotelId());
+            ZonedDateTime local = window.localNow(now);
+            if (!local.toLocalDate().equals(booking.getCheckOutDate())
+                    || local.getHour() != window.start().getHour()) {
+                continue;
+            }
             // Send reminder to staff (not guest)
             log.info("Check-out today for booking {}, guest: {}",
                     booking.getId(), booking.getGuestName());
             // Can publish event for notification-service
-        });
+            reminded++;
+        }
+        if (reminded > 0) {
+            log.info("Sent {} check-out reminders", reminded);
+        }
+        leaseManager.complete(lease);
     }
 
 }
@@ -0,0 +1,94 @@
+package com.hotel.booking.scheduler;
+
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.projection.GuestContactView;
+import com.hotel.booking.util.GuestSearchNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Fills the guest search keys on bookings written before they existed.
+ * New and updated bookings maintain them through Booking's entity callbacks.
+ * The keys are written with a plain JDBC update rather than through the entities, so
+ * updated_at stays put and the change feed, list ETags and archive age are unaffected.
+ */
+@Slf4j
+@Component
+public class GuestSearchBackfillJob {
+
+    // skips rows whose keys were set by a regular save since they were read
+    private static final String UPDATE_SQL = """
+            UPDATE bookings
+            SET guest_name_key = ?, guest_surname_key = ?, guest_email_key = ?,
+                guest_phone_key = ?, guest_phone_rev_key = ?
+            WHERE id = ? AND guest_name_key IS NULL
+            """;
+    private static final int[] ARG_TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BIGINT
+    };
+
+    private final BookingRepository bookingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${booking.backfill.guest-search.batch-size:500}")
+    private int batchSize;
+
+    public GuestSearchBackfillJob(BookingRepository bookingRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long afterId = 0L;
+        int total = 0;
+        while (true) {
+            final long cursor = afterId;
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<GuestContactView> batch =
+                        bookingRepository.findMissingGuestSearchKeys(cursor, PageRequest.of(0, batchSize));
+                if (!batch.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPDATE_SQL, batch.stream().map(this::toParameters).toList(), ARG_TYPES);
+                }
+                return batch.stream().map(GuestContactView::getId).toList();
+            });
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            total += ids.size();
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Backfilled guest search keys on {} bookings", total);
+        }
+    }
+
+    // same keys Booking.refreshGuestSearchKeys computes on save
+    private Object[] toParameters(GuestContactView guest) {
+        return new Object[]{
+                GuestSearchNormalizer.name(guest.getGuestName()),
+                GuestSearchNormalizer.surname(guest.getGuestName()),
+                GuestSearchNormalizer.email(guest.getGuestEmail()),
+                GuestSearchNormalizer.phoneDigits(guest.getGuestPhone()),
+                GuestSearchNormalizer.reversedPhoneDigits(guest.getGuestPhone()),
+                guest.getId()
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package com.hotel.booking.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel (same idea as Kafka's purgatory timer).
+ * The root wheel has wheelSize buckets of tickMs each; deadlines beyond its span go to an
+ * overflow wheel whose tick is the root's whole span, and so on. Scheduling is O(1), and
+ * advancing costs one bucket per elapsed tick, independent of how many timers are pending.
+ * Timers fire at most one tick late and never early.
+ * Thread-safe: callers schedule from request threads while a single ticker advances the clock.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final Wheel<T> root;
+    private int pending;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.root = new Wheel<>(tickMs, wheelSize, startMs, false);
+    }
+
+    /**
+     * @return false if the deadline has already passed; the caller should expire the item itself
+     */
+    public synchronized boolean schedule(T item, long deadlineMs) {
+        boolean added = root.add(new Timer<>(item, deadlineMs));
+        if (added) {
+            pending++;
+        }
+        return added;
+    }
+
+    /**
+     * Moves the clock to nowMs and returns every item whose deadline has passed.
+     * Timers from coarser wheels are cascaded into finer buckets on the way.
+     */
+    public synchronized List<T> advance(long nowMs) {
+        List<Timer<T>> drained = new ArrayList<>();
+        root.advance(nowMs, drained);
+        List<T> expired = new ArrayList<>();
+        for (Timer<T> timer : drained) {
+            if (!root.add(timer)) {
+                expired.add(timer.item);
+                pending--;
+            }
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return pending;
+    }
+
+    private record Timer<T>(T item, long deadlineMs) {
+    }
+
+    private static final class Wheel<T> {
+        private final long tickMs;
+        private final int wheelSize;
+        private final long intervalMs;
+        // overflow wheels hand a bucket down as soon as it starts, the root fires it once it has ended
+        private final boolean cascading;
+        private final List<List<Timer<T>>> buckets;
+        private long currentTimeMs;
+        private Wheel<T> overflow;
+
+        private Wheel(long tickMs, int wheelSize, long startMs, boolean cascading) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.intervalMs = tickMs * wheelSize;
+            this.cascading = cascading;
+            this.currentTimeMs = startMs - (startMs % tickMs);
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new ArrayList<>());
+            }
+        }
+
+        private boolean add(Timer<T> timer) {
+            if (timer.deadlineMs() < currentTimeMs) {
+                return false;
+            }
+            if (timer.deadlineMs() < currentTimeMs + intervalMs) {
+                buckets.get(bucketIndex(timer.deadlineMs())).add(timer);
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Wheel<>(intervalMs, wheelSize, currentTimeMs, true);
+            }
+            return overflow.add(timer);
+        }
+
+        private void advance(long nowMs, List<Timer<T>> drained) {
+            while (currentTimeMs + tickMs <= nowMs) {
+                long passedBucketStart = currentTimeMs;
+                currentTimeMs += tickMs;
+                drain(cascading ? currentTimeMs : passedBucketStart, drained);
+            }
+            if (overflow != null) {
+                overflow.advance(nowMs, drained);
+            }
+        }
+
+        private void drain(long bucketStartMs, List<Timer<T>> drained) {
+            List<Timer<T>> bucket = buckets.get(bucketIndex(bucketStartMs));
+            if (!bucket.isEmpty()) {
+                drained.addAll(bucket);
+                bucket.clear();
+            }
+        }
+
+        private int bucketIndex(long timeMs) {
+            return (int) ((timeMs / tickMs) % wheelSize);
+        }
+    }
+}
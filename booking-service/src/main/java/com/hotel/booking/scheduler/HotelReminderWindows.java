@@ -0,0 +1,93 @@
+package com.hotel.booking.scheduler;
+
+import com.hotel.booking.client.HotelServiceClient;
+import com.hotel.booking.dto.external.HotelDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-hotel time zone and reminder send window, read from hotel-service and cached.
+ * Hotels without their own settings, or that cannot be loaded, use the configured defaults.
+ */
+@Slf4j
+@Component
+public class HotelReminderWindows {
+
+    private final HotelServiceClient hotelServiceClient;
+    private final ReminderWindow defaultWindow;
+    private final long ttlMs;
+    private final ConcurrentMap<Long, Cached> cache = new ConcurrentHashMap<>();
+
+    public HotelReminderWindows(HotelServiceClient hotelServiceClient,
+                                @Value("${booking.reminder.default-time-zone:UTC}") String defaultZone,
+                                @Value("${booking.reminder.default-window-start:09:00}") String defaultStart,
+                                @Value("${booking.reminder.default-window-end:12:00}") String defaultEnd,
+                                @Value("${booking.reminder.settings-ttl-ms:900000}") long ttlMs) {
+        this.hotelServiceClient = hotelServiceClient;
+        this.defaultWindow = new ReminderWindow(
+                ZoneId.of(defaultZone), LocalTime.parse(defaultStart), LocalTime.parse(defaultEnd));
+        this.ttlMs = ttlMs;
+    }
+
+    public ReminderWindow forHotel(Long hotelId) {
+        long now = System.currentTimeMillis();
+        Cached cached = cache.get(hotelId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.window();
+        }
+        try {
+            ReminderWindow window = toWindow(hotelServiceClient.getHotelByIdWrapped(hotelId).getData());
+            cache.put(hotelId, new Cached(window, now + ttlMs));
+            return window;
+        } catch (Exception e) {
+            // keep the last known settings rather than jumping to the defaults
+            log.warn("Could not load reminder settings of hotel {}: {}", hotelId, e.getMessage());
+            return cached != null ? cached.window() : defaultWindow;
+        }
+    }
+
+    private ReminderWindow toWindow(HotelDto hotel) {
+        if (hotel == null) {
+            return defaultWindow;
+        }
+        ZoneId zone = defaultWindow.zone();
+        if (hotel.getTimeZone() != null) {
+            try {
+                zone = ZoneId.of(hotel.getTimeZone());
+            } catch (DateTimeException e) {
+                log.warn("Hotel {} has an invalid time zone '{}'", hotel.getId(), hotel.getTimeZone());
+            }
+        }
+        if (hotel.getReminderWindowStart() == null || hotel.getReminderWindowEnd() == null) {
+            return new ReminderWindow(zone, defaultWindow.start(), defaultWindow.end());
+        }
+        return new ReminderWindow(zone, hotel.getReminderWindowStart(), hotel.getReminderWindowEnd());
+    }
+
+    public record ReminderWindow(ZoneId zone, LocalTime start, LocalTime end) {
+
+        public ZonedDateTime localNow(Instant now) {
+            return now.atZone(zone);
+        }
+
+        // the day before the given date, hotel-local, between start (inclusive) and end (exclusive)
+        public boolean isOpenBefore(LocalDate date, Instant now) {
+            ZonedDateTime local = localNow(now);
+            LocalTime time = local.toLocalTime();
+            return local.toLocalDate().plusDays(1).equals(date) && !time.isBefore(start) && time.isBefore(end);
+        }
+    }
+
+    private record Cached(ReminderWindow window, long expiresAt) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.hotel.booking.scheduler;
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.event.BookingStateChangedEvent;
+import com.hotel.booking.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Marks confirmed bookings whose check-in date has passed as NO_SHOW, which releases their
+ * rooms from availability and conflict checks. "Passed" is judged by each hotel's local date,
+ * so a hotel west of the server never loses a guest who is still due today. Works hotel by
+ * hotel in id-ordered chunks, one transaction and one bulk update per chunk; state-change
+ * events for a chunk go out when it commits.
+ */
+@Slf4j
+@Component
+public class NoShowSweeper {
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SchedulerLeaseManager leaseManager;
+    private final HotelReminderWindows hotelWindows;
+    private final Counter released;
+
+    @Value("${booking.no-show.chunk-size:500}")
+    private int chunkSize;
+    // extra days a late arrival is still accepted after the hotel-local check-in date
+    @Value("${booking.no-show.grace-days:0}")
+    private int graceDays;
+
+    public NoShowSweeper(BookingRepository bookingRepository,
+                         PlatformTransactionManager transactionManager,
+                         ApplicationEventPublisher eventPublisher,
+                         SchedulerLeaseManager leaseManager,
+                         HotelReminderWindows hotelWindows,
+                         MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.leaseManager = leaseManager;
+        this.hotelWindows = hotelWindows;
+        this.released = Counter.builder("booking.no-show.released").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${booking.no-show.cron:0 10 * * * *}")
+    public void sweep() {
+        LocalDateTime startedAt = LocalDateTime.now().withSecond(0).withNano(0);
+        String lease = "no-show-sweep:" + startedAt;
+        if (!leaseManager.tryAcquire(lease)) {
+            return;
+        }
+        Instant now = Instant.now();
+        // no hotel-local date is more than a day ahead of the server's
+        LocalDate latestCutoff = LocalDate.now().plusDays(1).minusDays(graceDays);
+        int total = 0;
+        for (Long hotelId : bookingRepository.findHotelsWithConfirmedCheckInBefore(latestCutoff)) {
+            total += sweepHotel(hotelId, cutoff(hotelId, now), lease);
+            if (!leaseManager.renew(lease)) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("No-show sweep released {} bookings", total);
+        }
+        leaseManager.complete(lease);
+    }
+
+    // check-in dates before this are overdue: the hotel's local today, less the grace days
+    LocalDate cutoff(Long hotelId, Instant now) {
+        return LocalDate.ofInstant(now, hotelWindows.forHotel(hotelId).zone()).minusDays(graceDays);
+    }
+
+    // returns how many of the hotel's bookings were marked NO_SHOW
+    private int sweepHotel(Long hotelId, LocalDate checkInBefore, String lease) {
+        int total = 0;
+        long afterId = 0L;
+        while (true) {
+            long cursor = afterId;
+            ChunkResult result = transactionTemplate.execute(status -> sweepChunk(hotelId, checkInBefore, cursor));
+            if (result == null || result.scanned() == 0) {
+                break;
+            }
+            total += result.released();
+            released.increment(result.released());
+            afterId = result.lastId();
+            if (result.scanned() < chunkSize || !leaseManager.renew(lease)) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private ChunkResult sweepChunk(Long hotelId, LocalDate checkInBefore, long afterId) {
+        List<Booking> overdue = bookingRepository.findOverdueConfirmedBookings(
+                hotelId, checkInBefore, afterId, PageRequest.of(0, chunkSize));
+        if (overdue.isEmpty()) {
+            return new ChunkResult(0, 0, afterId);
+        }
+        List<Long> ids = overdue.stream().map(Booking::getId).toList();
+        int count = bookingRepository.markNoShow(ids, BookingStatus.CONFIRMED, BookingStatus.NO_SHOW, LocalDateTime.now());
+        for (Booking booking : overdue) {
+            // the bulk update bypassed the loaded entities, so they still read CONFIRMED
+            BookingStateChangedEvent event = BookingStateChangedEvent.of(booking, BookingStatus.CONFIRMED,
+                    booking.getPaymentStatus(), "system");
+            event.setNewStatus(BookingStatus.NO_SHOW);
+            eventPublisher.publishEvent(event);
+        }
+        return new ChunkResult(overdue.size(), count, ids.get(ids.size() - 1));
+    }
+
+    private record ChunkResult(int scanned, int released, long lastId) {
+    }
+}
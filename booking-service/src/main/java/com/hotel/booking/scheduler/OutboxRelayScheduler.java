@@ -0,0 +1,111 @@
+package com.hotel.booking.scheduler;
+
+import com.hotel.booking.entity.OutboxEvent;
+import com.hotel.booking.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+//relays outbox rows to kafka in batches
+@Slf4j
+@Component
+public class OutboxRelayScheduler {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> outboxKafkaTemplate;
+    private final TransactionTemplate relayTransaction;
+    private final TransactionTemplate cleanupTransaction;
+
+    @Value("${outbox.relay.batch-size:200}")
+    private int batchSize;
+    @Value("${outbox.relay.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+    @Value("${outbox.cleanup.retention-hours:72}")
+    private long retentionHours;
+    @Value("${outbox.cleanup.chunk-size:1000}")
+    private int cleanupChunkSize;
+
+    public OutboxRelayScheduler(OutboxEventRepository outboxEventRepository,
+                                @Qualifier("outboxKafkaTemplate") KafkaTemplate<String, String> outboxKafkaTemplate,
+                                PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxKafkaTemplate = outboxKafkaTemplate;
+        this.relayTransaction = new TransactionTemplate(transactionManager);
+        // READ COMMITTED: the row locks of the batch must not gap-lock new outbox inserts
+        this.relayTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.cleanupTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void relayPendingEvents() {
+        int relayed;
+        do {
+            Integer result = relayTransaction.execute(status -> relayBatch());
+            relayed = result != null ? result : 0;
+        } while (relayed == batchSize);
+    }
+
+    /**
+     * Sends one batch and marks the acknowledged rows as sent with a single update.
+     * Only the contiguous prefix of acknowledged rows is marked, so on a failure the
+     * remaining rows are retried in their original order on the next run.
+     */
+    private int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.findUnsentForRelay(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<CompletableFuture<SendResult<String, String>>> futures = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            futures.add(outboxKafkaTemplate.send(event.getTopic(), event.getMessageKey(), event.getPayload()));
+        }
+        outboxKafkaTemplate.flush();
+
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                futures.get(i).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                sentIds.add(event.getId());
+            } catch (Exception e) {
+                log.error("Failed to relay outbox event {} to topic {}: {}",
+                        event.getId(), event.getTopic(), e.getMessage());
+                break;
+            }
+        }
+        if (!sentIds.isEmpty()) {
+            outboxEventRepository.markSent(sentIds, LocalDateTime.now());
+        }
+        log.debug("Relayed {} of {} outbox events", sentIds.size(), batch.size());
+        return sentIds.size() == batch.size() ? sentIds.size() : 0;
+    }
+
+    //purge relayed events once they are past the retention window
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgeSentEvents() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        int total = 0;
+        int deleted;
+        do {
+            Integer result = cleanupTransaction.execute(
+                    status -> outboxEventRepository.deleteSentBefore(before, cleanupChunkSize));
+            deleted = result != null ? result : 0;
+            total += deleted;
+        } while (deleted == cleanupChunkSize);
+        log.info("Purged {} relayed outbox events older than {}", total, before);
+    }
+}
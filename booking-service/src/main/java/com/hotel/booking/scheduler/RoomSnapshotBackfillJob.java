@@ -0,0 +1,126 @@
+package com.hotel.booking.scheduler;
+
+import com.hotel.booking.client.HotelServiceClient;
+import com.hotel.booking.dto.external.RoomDto;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.projection.BookingRoomView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Copies room number, type and price onto bookings written before those columns existed.
+ * Walks the table by id in batches, one transaction per batch, and fetches each hotel's
+ * rooms once per run instead of once per booking.
+ * The details are written with a plain JDBC update rather than through the entities, so
+ * updated_at stays put and the change feed, list ETags and archive age are unaffected.
+ * Bookings whose room hotel-service no longer knows keep their NULLs and are only read
+ * again on the next start.
+ */
+@Slf4j
+@Component
+public class RoomSnapshotBackfillJob {
+
+    // skips rows whose details were set by a regular save since they were read
+    private static final String UPDATE_SQL = """
+            UPDATE bookings
+            SET room_number = ?, room_type = ?, price_per_night = ?
+            WHERE id = ? AND room_number IS NULL
+            """;
+    private static final int[] ARG_TYPES = {Types.VARCHAR, Types.VARCHAR, Types.FLOAT, Types.BIGINT};
+
+    private final BookingRepository bookingRepository;
+    private final HotelServiceClient hotelServiceClient;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${booking.backfill.room-snapshot.enabled:true}")
+    private boolean enabled;
+    @Value("${booking.backfill.room-snapshot.batch-size:500}")
+    private int batchSize;
+
+    public RoomSnapshotBackfillJob(BookingRepository bookingRepository,
+                                   HotelServiceClient hotelServiceClient,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.hotelServiceClient = hotelServiceClient;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, Map<Long, RoomDto>> roomsByHotel = new HashMap<>();
+        long afterId = 0L;
+        int updated = 0;
+        int missing = 0;
+        while (true) {
+            final long cursor = afterId;
+            BatchResult result = transactionTemplate.execute(status -> backfillBatch(cursor, roomsByHotel));
+            if (result == null || result.scanned() == 0) {
+                break;
+            }
+            updated += result.updated();
+            missing += result.scanned() - result.updated();
+            afterId = result.lastId();
+            if (result.scanned() < batchSize) {
+                break;
+            }
+        }
+        if (updated > 0 || missing > 0) {
+            log.info("Room snapshot backfill: {} bookings updated, {} rooms no longer resolvable", updated, missing);
+        }
+    }
+
+    private BatchResult backfillBatch(long afterId, Map<Long, Map<Long, RoomDto>> roomsByHotel) {
+        List<BookingRoomView> bookings =
+                bookingRepository.findMissingRoomSnapshot(afterId, PageRequest.of(0, batchSize));
+        List<Object[]> parameters = new ArrayList<>();
+        for (BookingRoomView booking : bookings) {
+            RoomDto room = roomsFor(booking.getHotelId(), roomsByHotel).get(booking.getRoomId());
+            if (room != null) {
+                parameters.add(new Object[]{
+                        room.getRoomNumber(), room.getRoomType(), room.getPricePerNight(), booking.getId()
+                });
+            }
+        }
+        if (!parameters.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, parameters, ARG_TYPES);
+        }
+        long lastId = bookings.isEmpty() ? afterId : bookings.get(bookings.size() - 1).getId();
+        return new BatchResult(bookings.size(), parameters.size(), lastId);
+    }
+
+    private Map<Long, RoomDto> roomsFor(Long hotelId, Map<Long, Map<Long, RoomDto>> roomsByHotel) {
+        return roomsByHotel.computeIfAbsent(hotelId, id -> {
+            try {
+                return hotelServiceClient.getRoomsByHotelId(id).stream()
+                        .collect(Collectors.toMap(RoomDto::getId, Function.identity(), (a, b) -> a));
+            } catch (Exception e) {
+                log.warn("Could not load rooms for hotel {} during snapshot backfill: {}", id, e.getMessage());
+                return Map.of();
+            }
+        });
+    }
+
+    private record BatchResult(int scanned, int updated, long lastId) {
+    }
+}
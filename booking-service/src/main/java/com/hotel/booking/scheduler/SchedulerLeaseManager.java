@@ -0,0 +1,112 @@
+package com.hotel.booking.scheduler;
+
+import com.hotel.booking.repository.SchedulerLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DB-backed leases that let every replica run the same @Scheduled methods while
+ * each unit of work is done by exactly one of them. A lease is claimed once per name;
+ * a holder that dies stops renewing, and after the TTL another replica may take it over,
+ * resuming from the checkpoint the holder last renewed with.
+ * Completed leases are kept for a while so the same run is not started twice.
+ * Recurring work that may run again right away uses one fixed name and releases it instead.
+ */
+@Slf4j
+@Component
+public class SchedulerLeaseManager {
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+
+    @Value("${booking.scheduler.lease-ttl-seconds:120}")
+    private long ttlSeconds;
+    @Value("${booking.scheduler.lease-retention-days:7}")
+    private long retentionDays;
+    @Value("${booking.scheduler.lease-purge-chunk-size:1000}")
+    private int purgeChunkSize;
+
+    public SchedulerLeaseManager(SchedulerLeaseRepository leaseRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.leaseRepository = leaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.owner = hostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    // claims work nobody has started yet, or resumes work whose owner went away
+    public boolean tryAcquire(String name) {
+        return execute(() -> leaseRepository.insertIfAbsent(name, owner, ttlSeconds) == 1
+                || leaseRepository.takeOverExpired(name, owner, ttlSeconds) == 1);
+    }
+
+    // false means the lease was lost and the caller must stop working on it
+    public boolean renew(String name) {
+        return execute(() -> leaseRepository.renew(name, owner, ttlSeconds) == 1);
+    }
+
+    // renews and records how far the holder got; a replica that takes the lease over resumes from there
+    public boolean renew(String name, String checkpoint) {
+        return execute(() -> leaseRepository.renewWithCheckpoint(name, owner, ttlSeconds, checkpoint) == 1);
+    }
+
+    // where the previous holder of a taken-over lease stopped, null for a fresh one
+    public String checkpoint(String name) {
+        return transactionTemplate.execute(status -> leaseRepository.findCheckpoint(name));
+    }
+
+    // whether some replica, this one included, is working under the lease right now
+    public boolean isHeld(String name) {
+        return execute(() -> leaseRepository.countHeld(name) > 0);
+    }
+
+    public void complete(String name) {
+        execute(() -> leaseRepository.complete(name, owner) == 1);
+    }
+
+    // drops the lease so the next run, on any replica, can take the same name again
+    public void release(String name) {
+        execute(() -> leaseRepository.release(name, owner) == 1);
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    @Scheduled(cron = "0 15 4 * * *")
+    public void purgeCompleted() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        int deleted;
+        do {
+            Integer result = transactionTemplate.execute(
+                    status -> leaseRepository.deleteCompletedBefore(before, purgeChunkSize));
+            deleted = result != null ? result : 0;
+            total += deleted;
+        } while (deleted == purgeChunkSize);
+        if (total > 0) {
+            log.info("Purged {} completed scheduler leases", total);
+        }
+    }
+
+    private boolean execute(java.util.function.BooleanSupplier action) {
+        Boolean result = transactionTemplate.execute(status -> action.getAsBoolean());
+        return Boolean.TRUE.equals(result);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "booking-service";
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.hotel.booking.scheduler;
+
+import com.hotel.booking.repository.RateLimitBucketRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Token bucket whose state lives in rate_limit_buckets, so the rate holds for the whole
+ * cluster rather than per replica. Refills continuously at {@code ratePerSecond} up to
+ * {@code capacity}, which bounds the size of a burst. Each take is one short transaction
+ * that row-locks the bucket, so concurrent replicas never hand out the same tokens.
+ */
+public class SharedTokenBucket {
+
+    private final String name;
+    private final double ratePerSecond;
+    private final double capacity;
+    private final RateLimitBucketRepository repository;
+    private final TransactionTemplate transactionTemplate;
+
+    public SharedTokenBucket(String name, double ratePerSecond, double capacity,
+                             RateLimitBucketRepository repository,
+                             PlatformTransactionManager transactionManager) {
+        if (ratePerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("Token bucket needs a positive rate and a capacity of at least 1");
+        }
+        this.name = name;
+        this.ratePerSecond = ratePerSecond;
+        this.capacity = capacity;
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // takes up to max whole tokens, returns how many were granted
+    public int tryTake(int max) {
+        if (max <= 0) {
+            return 0;
+        }
+        Integer granted = transactionTemplate.execute(status -> {
+            repository.refill(name, ratePerSecond, capacity);
+            Double tokens = repository.findTokens(name);
+            if (tokens == null) {
+                // first use anywhere in the cluster
+                repository.createIfMissing(name, capacity);
+                tokens = repository.findTokens(name);
+            }
+            int take = tokens != null ? (int) Math.min(max, Math.floor(tokens)) : 0;
+            if (take > 0) {
+                repository.take(name, take, capacity);
+            }
+            return Math.max(take, 0);
+        });
+        return granted != null ? granted : 0;
+    }
+
+    // gives back tokens that were taken but not used
+    public void refund(int unused) {
+        if (unused > 0) {
+            transactionTemplate.executeWithoutResult(status -> repository.take(name, -unused, capacity));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.hotel.booking.scheduler;
+
+import com.hotel.booking.repository.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The change feed pages on updated_at, so rows that never had it set would be invisible.
+ * Copies created_at into the gaps in small chunks on startup.
+ */
+@Slf4j
+@Component
+public class UpdatedAtBackfillJob {
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${booking.backfill.updated-at.chunk-size:1000}")
+    private int chunkSize;
+
+    public UpdatedAtBackfillJob(BookingRepository bookingRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int total = 0;
+        Integer updated;
+        do {
+            updated = transactionTemplate.execute(status -> bookingRepository.backfillUpdatedAt(chunkSize));
+            total += updated != null ? updated : 0;
+        } while (updated != null && updated == chunkSize);
+        if (total > 0) {
+            log.info("Backfilled updated_at on {} bookings", total);
+        }
+    }
+}
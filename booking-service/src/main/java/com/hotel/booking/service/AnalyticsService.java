@@ -4,6 +4,7 @@ import com.hotel.booking.dto.analytics.DashboardAnalyticsDto;
 import com.hotel.booking.dto.analytics.HotelAnalyticsDto;
 import com.hotel.booking.dto.analytics.RevenueByDateDto;
 import com.hotel.booking.dto.analytics.RoomTypeAnalyticsDto;
+import com.hotel.booking.enums.RevenueGranularity;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -14,9 +15,11 @@ public interface AnalyticsService {
     // hotel-wise analytics
     List<HotelAnalyticsDto> getHotelAnalytics();
     HotelAnalyticsDto getHotelAnalyticsById(Long hotelId);
-    // revenue by date
-    List<RevenueByDateDto> getRevenueByDateRange(LocalDate startDate, LocalDate endDate);
-    List<RevenueByDateDto> getRevenueByDateRangeForHotel(Long hotelId, LocalDate startDate, LocalDate endDate);
+    // revenue by booking date across hotels, and by check-in date for one hotel
+    List<RevenueByDateDto> getRevenueByDateRange(LocalDate startDate, LocalDate endDate,
+                                                 RevenueGranularity granularity);
+    List<RevenueByDateDto> getRevenueByDateRangeForHotel(Long hotelId, LocalDate startDate, LocalDate endDate,
+                                                         RevenueGranularity granularity);
     // room type analytics
     List<RoomTypeAnalyticsDto> getRoomTypeAnalytics();
     List<RoomTypeAnalyticsDto> getRoomTypeAnalyticsForHotel(Long hotelId);
@@ -6,8 +6,13 @@ import com.hotel.booking.dto.analytics.HotelAnalyticsDto;
 import com.hotel.booking.dto.analytics.RevenueByDateDto;
 import com.hotel.booking.dto.analytics.RoomTypeAnalyticsDto;
 import com.hotel.booking.dto.external.HotelDto;
-import com.hotel.booking.dto.external.RoomDto;
+import com.hotel.booking.enums.RevenueGranularity;
+import com.hotel.booking.repository.ArchivedBookingRepository;
 import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.RevenueRollupRepository;
+import com.hotel.booking.repository.projection.DashboardTotals;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -15,9 +20,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
@@ -25,33 +33,35 @@ import java.util.stream.Collectors;
 public class AnalyticsServiceImpl implements AnalyticsService {
 
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final RevenueRollupRepository revenueRollupRepository;
     private final HotelServiceClient hotelServiceClient;
+    private final DashboardCounters dashboardCounters;
+    private final MeterRegistry meterRegistry;
 
     @Override
     @Transactional(readOnly = true)
     public DashboardAnalyticsDto getDashboardAnalytics() {
         log.info("Fetching dashboard analytics");
 
-        Long totalBookings = bookingRepository.getTotalBookings();
-        Double totalRevenue = bookingRepository.getTotalRevenue();
-        Long activeBookings = bookingRepository.getActiveBookings();
-        Long completedBookings = bookingRepository.getCompletedBookings();
-        Long cancelledBookings = bookingRepository.getCancelledBookings();
-        Long todayCheckIns = bookingRepository.getTodayCheckInsCount(LocalDate.now());
-        Long todayCheckOuts = bookingRepository.getTodayCheckOutsCount(LocalDate.now());
-        Long pendingPayments = bookingRepository.getPendingPayments();
-        Double averageBookingValue = bookingRepository.getAverageBookingValue();
+        // running totals over hot and archived bookings, kept current by DashboardCounters
+        DashboardTotals totals = timed("dashboard.counters", dashboardCounters::getTotals);
+        LocalDate today = LocalDate.now();
+        Long todayCheckIns = timed("dashboard.today-check-ins", () -> bookingRepository.getTodayCheckInsCount(today));
+        Long todayCheckOuts = timed("dashboard.today-check-outs", () -> bookingRepository.getTodayCheckOutsCount(today));
+        long totalBookings = longValue(totals.bookings());
+        double totalRevenue = doubleValue(totals.revenue());
 
         return DashboardAnalyticsDto.builder()
                 .totalBookings(totalBookings)
-                .totalRevenue(totalRevenue != null ? totalRevenue : 0.0)
-                .activeBookings(activeBookings)
-                .completedBookings(completedBookings)
-                .cancelledBookings(cancelledBookings)
-                .todayCheckIns(todayCheckIns)
-                .todayCheckOuts(todayCheckOuts)
-                .pendingPayments(pendingPayments)
-                .averageBookingValue(averageBookingValue != null ? averageBookingValue : 0.0)
+                .totalRevenue(totalRevenue)
+                .activeBookings(longValue(totals.active()))
+                .completedBookings(longValue(totals.completed()))
+                .cancelledBookings(longValue(totals.cancelled()))
+                .todayCheckIns(longValue(todayCheckIns))
+                .todayCheckOuts(longValue(todayCheckOuts))
+                .pendingPayments(longValue(totals.pendingPayments()))
+                .averageBookingValue(totalBookings > 0 ? totalRevenue / totalBookings : 0.0)
                 .build();
     }
 
@@ -60,7 +70,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     public List<HotelAnalyticsDto> getHotelAnalytics() {
         log.info("Fetching hotel analytics");
 
-        List<HotelAnalyticsDto> analytics = bookingRepository.getRevenueByHotel();
+        List<HotelAnalyticsDto> analytics = getRevenueByHotel();
 
         // enrich with hotel names from hotel-service
         for (HotelAnalyticsDto dto : analytics) {
@@ -81,7 +91,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     public HotelAnalyticsDto getHotelAnalyticsById(Long hotelId) {
         log.info("Fetching analytics for hotel {}", hotelId);
 
-        List<HotelAnalyticsDto> allAnalytics = bookingRepository.getRevenueByHotel();
+        List<HotelAnalyticsDto> allAnalytics = getRevenueByHotel();
         HotelAnalyticsDto hotelAnalytics = allAnalytics.stream()
                 .filter(dto -> dto.getHotelId().equals(hotelId))
                 .findFirst()
@@ -101,91 +111,121 @@ public class AnalyticsServiceImpl implements AnalyticsService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<RevenueByDateDto> getRevenueByDateRange(LocalDate startDate, LocalDate endDate) {
-        log.info("Fetching revenue from {} to {}", startDate, endDate);
-        return bookingRepository.getRevenueByDateRange(startDate, endDate);
+    public List<RevenueByDateDto> getRevenueByDateRange(LocalDate startDate, LocalDate endDate,
+                                                        RevenueGranularity granularity) {
+        log.info("Fetching {} revenue from {} to {}", granularity, startDate, endDate);
+        List<RevenueByDateDto> days = timed("revenue-by-date",
+                () -> revenueRollupRepository.getRevenueByDateRange(startDate, endDate));
+        return rollUp(days, granularity, startDate);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<RevenueByDateDto> getRevenueByDateRangeForHotel(Long hotelId, LocalDate startDate, LocalDate endDate) {
-        log.info("Fetching revenue for hotel {} from {} to {}", hotelId, startDate, endDate);
-        return bookingRepository.getRevenueByDateRangeForHotel(hotelId, startDate, endDate);
+    public List<RevenueByDateDto> getRevenueByDateRangeForHotel(Long hotelId, LocalDate startDate, LocalDate endDate,
+                                                                RevenueGranularity granularity) {
+        log.info("Fetching {} revenue for hotel {} from {} to {}", granularity, hotelId, startDate, endDate);
+        List<RevenueByDateDto> days = timed("revenue-by-date.hotel",
+                () -> revenueRollupRepository.getRevenueByDateRangeForHotel(hotelId, startDate, endDate));
+        return rollUp(days, granularity, startDate);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<RoomTypeAnalyticsDto> getRoomTypeAnalytics() {
         log.info("Fetching room type analytics");
-
-        // get all bookings with room details
-        List<Object[]> results = bookingRepository.findAll().stream()
-                .filter(b -> !b.getStatus().name().equals("CANCELLED"))
-                .map(b -> {
-                    try {
-                        RoomDto room = hotelServiceClient.getRoomById(b.getRoomId());
-                        return new Object[]{room.getRoomType(), b.getTotalAmount()};
-                    } catch (Exception e) {
-                        return null;
-                    }
-                })
-                .filter(obj -> obj != null)
-                .collect(Collectors.toList());
-
-        // group by room type
-        Map<String, List<Float>> revenueByType = results.stream()
-                .collect(Collectors.groupingBy(
-                        obj -> (String) obj[0],
-                        Collectors.mapping(obj -> (Float) obj[1], Collectors.toList())
-                ));
-
-        List<RoomTypeAnalyticsDto> analytics = new ArrayList<>();
-        for (Map.Entry<String, List<Float>> entry : revenueByType.entrySet()) {
-            String roomType = entry.getKey();
-            List<Float> revenues = entry.getValue();
-            Long count = (long) revenues.size();
-            Double totalRevenue = revenues.stream().mapToDouble(Float::doubleValue).sum();
-            Double avgPrice = totalRevenue / count;
-
-            analytics.add(new RoomTypeAnalyticsDto(roomType, count, totalRevenue, avgPrice));
-        }
-        // sort by booking count descending
-        analytics.sort((a, b) -> b.getBookingCount().compareTo(a.getBookingCount()));
-        return analytics;
+        return mergeByRoomType(
+                timed("revenue-by-room-type", bookingRepository::getRevenueByRoomType),
+                timed("revenue-by-room-type.archive", archivedBookingRepository::getRevenueByRoomType));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<RoomTypeAnalyticsDto> getRoomTypeAnalyticsForHotel(Long hotelId) {
         log.info("Fetching room type analytics for hotel {}", hotelId);
-        List<Object[]> results = bookingRepository.findByHotelIdOrderByCreatedAtDesc(hotelId).stream()
-                .filter(b -> !b.getStatus().name().equals("CANCELLED"))
-                .map(b -> {
-                    try {
-                        RoomDto room = hotelServiceClient.getRoomById(b.getRoomId());
-                        return new Object[]{room.getRoomType(), b.getTotalAmount()};
-                    } catch (Exception e) {
-                        return null;
-                    }
-                })
-                .filter(obj -> obj != null)
-                .collect(Collectors.toList());
-        Map<String, List<Float>> revenueByType = results.stream()
-                .collect(Collectors.groupingBy(
-                        obj -> (String) obj[0],
-                        Collectors.mapping(obj -> (Float) obj[1], Collectors.toList())
-                ));
-
-        List<RoomTypeAnalyticsDto> analytics = new ArrayList<>();
-        for (Map.Entry<String, List<Float>> entry : revenueByType.entrySet()) {
-            String roomType = entry.getKey();
-            List<Float> revenues = entry.getValue();
-            Long count = (long) revenues.size();
-            Double totalRevenue = revenues.stream().mapToDouble(Float::doubleValue).sum();
-            Double avgPrice = totalRevenue / count;
-            analytics.add(new RoomTypeAnalyticsDto(roomType, count, totalRevenue, avgPrice));
+        return mergeByRoomType(
+                timed("revenue-by-room-type.hotel",
+                        () -> bookingRepository.getRevenueByRoomTypeForHotel(hotelId)),
+                timed("revenue-by-room-type.hotel.archive",
+                        () -> archivedBookingRepository.getRevenueByRoomTypeForHotel(hotelId)));
+    }
+
+    // hot and archived rows of the same hotel, highest revenue first
+    private List<HotelAnalyticsDto> getRevenueByHotel() {
+        Map<Long, HotelAnalyticsDto> byHotel = new HashMap<>();
+        for (HotelAnalyticsDto dto : timed("revenue-by-hotel", bookingRepository::getRevenueByHotel)) {
+            byHotel.put(dto.getHotelId(), dto);
+        }
+        List<HotelAnalyticsDto> archivedRows =
+                timed("revenue-by-hotel.archive", archivedBookingRepository::getRevenueByHotel);
+        for (HotelAnalyticsDto archived : archivedRows) {
+            byHotel.merge(archived.getHotelId(), archived, (hot, old) -> new HotelAnalyticsDto(
+                    hot.getHotelId(),
+                    hot.getTotalBookings() + old.getTotalBookings(),
+                    hot.getTotalRevenue() + old.getTotalRevenue(),
+                    hot.getActiveBookings()));
+        }
+        List<HotelAnalyticsDto> analytics = new ArrayList<>(byHotel.values());
+        analytics.sort((a, b) -> b.getTotalRevenue().compareTo(a.getTotalRevenue()));
+        return analytics;
+    }
+
+    // hot and archived rows of the same room type, most booked first
+    private List<RoomTypeAnalyticsDto> mergeByRoomType(List<RoomTypeAnalyticsDto> hotRows,
+                                                       List<RoomTypeAnalyticsDto> archivedRows) {
+        Map<String, RoomTypeAnalyticsDto> byType = new HashMap<>();
+        for (RoomTypeAnalyticsDto dto : hotRows) {
+            byType.put(dto.getRoomType(), dto);
+        }
+        for (RoomTypeAnalyticsDto archived : archivedRows) {
+            byType.merge(archived.getRoomType(), archived, (hot, old) -> {
+                long count = hot.getBookingCount() + old.getBookingCount();
+                double revenue = hot.getTotalRevenue() + old.getTotalRevenue();
+                return new RoomTypeAnalyticsDto(hot.getRoomType(), count, revenue, revenue / count);
+            });
         }
+        List<RoomTypeAnalyticsDto> analytics = new ArrayList<>(byType.values());
         analytics.sort((a, b) -> b.getBookingCount().compareTo(a.getBookingCount()));
         return analytics;
     }
-}
\ No newline at end of file
+
+    // weekly and monthly figures are sums of the daily rollup rows, keyed by the first day of the bucket;
+    // a bucket cut by the requested range covers only the days inside it, so the first one is keyed by startDate
+    private List<RevenueByDateDto> rollUp(List<RevenueByDateDto> days, RevenueGranularity granularity,
+                                          LocalDate startDate) {
+        if (granularity == RevenueGranularity.DAY) {
+            return days;
+        }
+        Map<LocalDate, RevenueByDateDto> byBucket = new TreeMap<>();
+        for (RevenueByDateDto day : days) {
+            LocalDate start = granularity.bucketOf(day.getDate());
+            LocalDate bucket = start.isBefore(startDate) ? startDate : start;
+            byBucket.merge(bucket, new RevenueByDateDto(bucket, day.getBookingCount(), day.getRevenue()),
+                    (a, b) -> new RevenueByDateDto(a.getDate(), a.getBookingCount() + b.getBookingCount(),
+                            a.getRevenue() + b.getRevenue()));
+        }
+        return new ArrayList<>(byBucket.values());
+    }
+
+    // per-query latency as booking.analytics.query{query=...}, also logged so slow queries show up in the service log
+    private <T> T timed(String query, Supplier<T> supplier) {
+        long started = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            Timer.builder("booking.analytics.query")
+                    .tag("query", query)
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            log.debug("Analytics query {} took {} ms", query, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    private static long longValue(Number value) {
+        return value != null ? value.longValue() : 0L;
+    }
+
+    private static double doubleValue(Number value) {
+        return value != null ? value.doubleValue() : 0.0;
+    }
+}
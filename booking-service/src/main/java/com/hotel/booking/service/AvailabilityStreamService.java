@@ -0,0 +1,174 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.client.HotelServiceClient;
+import com.hotel.booking.dto.external.RoomDto;
+import com.hotel.booking.dto.response.AvailabilityUpdate;
+import com.hotel.booking.event.BookingStateChangedEvent;
+import com.hotel.booking.exception.BookingException;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.sse.SseEmitterRegistry;
+import com.hotel.booking.sse.SseEmitterRegistry.Subscriber;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Live room-type availability over SSE.
+ * Committed booking transitions only mark their hotel dirty. A periodic flush then
+ * fetches the hotel's rooms once, recomputes availability once per distinct stay window
+ * that has subscribers, and pushes just the room types whose count changed.
+ * Subscribers of the same hotel and dates share one computation regardless of how many tabs are open.
+ */
+@Slf4j
+@Service
+public class AvailabilityStreamService {
+
+    private static final String EVENT_NAME = "availability";
+
+    private final BookingRepository bookingRepository;
+    private final HotelServiceClient hotelServiceClient;
+    private final SseEmitterRegistry<Long, StayWindow> registry;
+    // hotel -> span of stay dates touched since the last flush
+    private final ConcurrentMap<Long, StayWindow> dirtyHotels = new ConcurrentHashMap<>();
+    // counts last pushed per window, the baseline for the next delta
+    private final ConcurrentMap<StayWindow, Map<String, Integer>> lastSent = new ConcurrentHashMap<>();
+
+    public AvailabilityStreamService(BookingRepository bookingRepository,
+                                     HotelServiceClient hotelServiceClient,
+                                     @Value("${booking.sse.timeout-ms:1800000}") long timeoutMs,
+                                     @Value("${booking.sse.max-subscribers:5000}") int maxSubscribers) {
+        this.bookingRepository = bookingRepository;
+        this.hotelServiceClient = hotelServiceClient;
+        this.registry = new SseEmitterRegistry<>(timeoutMs, maxSubscribers);
+    }
+
+    public SseEmitter subscribe(Long hotelId, LocalDate checkInDate, LocalDate checkOutDate) {
+        if (!checkOutDate.isAfter(checkInDate)) {
+            throw new BookingException("Check-out date must be after check-in date");
+        }
+        StayWindow window = new StayWindow(hotelId, checkInDate, checkOutDate);
+        Subscriber<StayWindow> subscriber = registry.register(hotelId, window);
+        if (subscriber == null) {
+            throw new BookingException("Too many live availability subscribers, please retry later");
+        }
+        // registered first so changes committed while the snapshot is computed still get flushed
+        try {
+            Map<String, Integer> counts = countAvailable(window, activeRooms(hotelId));
+            lastSent.putIfAbsent(window, counts);
+            registry.send(hotelId, subscriber, EVENT_NAME, toUpdate(window, counts, true));
+        } catch (RuntimeException e) {
+            registry.fail(hotelId, subscriber, e);
+            throw e;
+        }
+        log.debug("Availability subscriber added for hotel {} ({} open streams)", hotelId, registry.size());
+        return subscriber.emitter();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBookingStateChanged(BookingStateChangedEvent event) {
+        if (!event.isStatusChange() || !registry.hasSubscribers(event.getHotelId())) {
+            return;
+        }
+        StayWindow changed = new StayWindow(event.getHotelId(), event.getCheckInDate(), event.getCheckOutDate());
+        dirtyHotels.merge(event.getHotelId(), changed, StayWindow::span);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.sse.availability.flush-ms:1000}")
+    public void flush() {
+        for (Long hotelId : dirtyHotels.keySet()) {
+            StayWindow changed = dirtyHotels.remove(hotelId);
+            if (changed == null) {
+                continue;
+            }
+            try {
+                flushHotel(hotelId, changed);
+            } catch (Exception e) {
+                log.warn("Could not push availability for hotel {}: {}", hotelId, e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.sse.heartbeat-ms:20000}")
+    public void heartbeat() {
+        registry.heartbeat();
+        // forget baselines of windows nobody watches any more
+        lastSent.keySet().removeIf(window -> registry.subscribers(window.hotelId()).stream()
+                .noneMatch(s -> s.subscription().equals(window)));
+    }
+
+    private void flushHotel(Long hotelId, StayWindow changed) {
+        Map<StayWindow, List<Subscriber<StayWindow>>> byWindow = registry.subscribers(hotelId).stream()
+                .filter(s -> s.subscription().overlaps(changed))
+                .collect(Collectors.groupingBy(Subscriber::subscription));
+        if (byWindow.isEmpty()) {
+            return;
+        }
+        List<RoomDto> rooms = activeRooms(hotelId);
+        byWindow.forEach((window, subscribers) -> {
+            Map<String, Integer> current = countAvailable(window, rooms);
+            Map<String, Integer> previous = lastSent.put(window, current);
+            Map<String, Integer> delta = new TreeMap<>();
+            current.forEach((type, count) -> {
+                if (previous == null || !count.equals(previous.get(type))) {
+                    delta.put(type, count);
+                }
+            });
+            if (delta.isEmpty()) {
+                return;
+            }
+            AvailabilityUpdate update = toUpdate(window, delta, false);
+            subscribers.forEach(s -> registry.send(hotelId, s, EVENT_NAME, update));
+        });
+    }
+
+    private List<RoomDto> activeRooms(Long hotelId) {
+        return hotelServiceClient.getRoomsByHotelId(hotelId).stream()
+                .filter(room -> Boolean.TRUE.equals(room.getIsActive()))
+                .collect(Collectors.toList());
+    }
+
+    // includes sold-out types with 0 so clients can grey them out
+    private Map<String, Integer> countAvailable(StayWindow window, List<RoomDto> rooms) {
+        Set<Long> booked = new HashSet<>(bookingRepository.findBookedRoomIds(
+                window.hotelId(), window.checkInDate(), window.checkOutDate()));
+        Map<String, Integer> counts = new TreeMap<>();
+        for (RoomDto room : rooms) {
+            counts.merge(room.getRoomType(), booked.contains(room.getId()) ? 0 : 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private AvailabilityUpdate toUpdate(StayWindow window, Map<String, Integer> counts, boolean snapshot) {
+        return AvailabilityUpdate.builder()
+                .hotelId(window.hotelId())
+                .checkInDate(window.checkInDate())
+                .checkOutDate(window.checkOutDate())
+                .snapshot(snapshot)
+                .availableByRoomType(counts)
+                .build();
+    }
+
+    private record StayWindow(Long hotelId, LocalDate checkInDate, LocalDate checkOutDate) {
+
+        // same inclusive overlap rule as BookingRepository.findBookedRoomIds
+        boolean overlaps(StayWindow other) {
+            return !checkInDate.isAfter(other.checkOutDate) && !checkOutDate.isBefore(other.checkInDate);
+        }
+
+        StayWindow span(StayWindow other) {
+            return new StayWindow(hotelId,
+                    checkInDate.isBefore(other.checkInDate) ? checkInDate : other.checkInDate,
+                    checkOutDate.isAfter(other.checkOutDate) ? checkOutDate : other.checkOutDate);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.hotel.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects items published during a transaction and hands them over in one call just
+ * before it commits, so a bulk change of N bookings costs one write instead of N.
+ * The write joins the same transaction: it commits or rolls back with the booking change.
+ */
+@Slf4j
+public abstract class BeforeCommitBatcher<T> {
+
+    protected void add(T item) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            log.warn("{} got an item outside a transaction, skipping it", getClass().getSimpleName());
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<T> batch = (List<T>) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            List<T> newBatch = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, newBatch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    if (!newBatch.isEmpty()) {
+                        flushBatch(newBatch);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BeforeCommitBatcher.this);
+                }
+            });
+            batch = newBatch;
+        }
+        batch.add(item);
+    }
+
+    // runs inside the still-open transaction
+    protected abstract void flushBatch(List<T> items);
+}
@@ -0,0 +1,151 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.event.BookingStateChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only history of committed booking transitions (status and payment changes).
+ * Transactions only drop an entry into a bounded in-memory queue after they commit;
+ * a dedicated writer thread drains it and inserts the entries as one JDBC batch.
+ * When the queue is full, or a batch still fails after its retries, the entries are
+ * dropped and counted in booking.audit.entries{result=dropped|failed} instead of
+ * slowing down or failing the booking path.
+ */
+@Slf4j
+@Component
+public class BookingAuditLog {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO booking_audit_log
+                (booking_id, hotel_id, user_id, previous_status, new_status,
+                 previous_payment_status, new_payment_status, actor, occurred_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final int[] ARG_TYPES = {
+            Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<BookingStateChangedEvent> queue;
+    private final Thread writer;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private final int batchSize;
+    private final long flushMs;
+    private final int maxAttempts;
+    private volatile boolean running = true;
+
+    public BookingAuditLog(JdbcTemplate jdbcTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${booking.audit.queue-capacity:100000}") int queueCapacity,
+                           @Value("${booking.audit.batch-size:500}") int batchSize,
+                           @Value("${booking.audit.flush-ms:500}") long flushMs,
+                           @Value("${booking.audit.max-attempts:3}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushMs = flushMs;
+        this.maxAttempts = maxAttempts;
+        this.written = Counter.builder("booking.audit.entries").tag("result", "written").register(meterRegistry);
+        this.dropped = Counter.builder("booking.audit.entries").tag("result", "dropped").register(meterRegistry);
+        this.failed = Counter.builder("booking.audit.entries").tag("result", "failed").register(meterRegistry);
+        Gauge.builder("booking.audit.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+        // not on the shared @Scheduled thread, so a long job cannot stall the writer
+        this.writer = new Thread(this::drainLoop, "booking-audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBookingStateChanged(BookingStateChangedEvent event) {
+        if (!event.isStatusChange() && event.getPreviousPaymentStatus() == event.getNewPaymentStatus()) {
+            return;
+        }
+        // never blocks the committing thread
+        if (!queue.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    private void drainLoop() {
+        List<BookingStateChangedEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                BookingStateChangedEvent first = queue.poll(flushMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                // shutdown: fall through and flush what is left
+                running = false;
+            } catch (RuntimeException e) {
+                // keep the writer alive whatever a single batch does
+                failed.increment(batch.size());
+                log.error("Dropped {} audit entries: {}", batch.size(), e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<BookingStateChangedEvent> batch) {
+        List<Object[]> rows = batch.stream().map(this::toParameters).toList();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows, ARG_TYPES);
+                written.increment(rows.size());
+                return;
+            } catch (Exception e) {
+                if (attempt >= maxAttempts || !running) {
+                    failed.increment(rows.size());
+                    log.error("Dropped {} audit entries after {} attempts: {}", rows.size(), attempt, e.getMessage());
+                    return;
+                }
+                log.warn("Audit batch of {} failed (attempt {}), retrying: {}", rows.size(), attempt, e.getMessage());
+                try {
+                    Thread.sleep(flushMs * attempt);
+                } catch (InterruptedException interrupted) {
+                    running = false;
+                }
+            }
+        }
+    }
+
+    private Object[] toParameters(BookingStateChangedEvent event) {
+        return new Object[]{
+                event.getBookingId(), event.getHotelId(), event.getUserId(),
+                event.getPreviousStatus() != null ? event.getPreviousStatus().name() : null,
+                event.getNewStatus().name(),
+                event.getPreviousPaymentStatus() != null ? event.getPreviousPaymentStatus().name() : null,
+                event.getNewPaymentStatus() != null ? event.getNewPaymentStatus().name() : null,
+                event.getActor(), event.getOccurredAt()
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(flushMs * 4);
+    }
+}
@@ -0,0 +1,13 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.dto.response.BookingAuditEntryResponse;
+import com.hotel.booking.dto.response.CursorPage;
+
+import java.util.List;
+
+public interface BookingAuditService {
+    // oldest first; admin, or staff of the booking's hotel
+    List<BookingAuditEntryResponse> getBookingHistory(Long bookingId);
+    // newest first, keyset paginated
+    CursorPage<BookingAuditEntryResponse> getHotelHistory(Long hotelId, String cursor, Integer size);
+}
@@ -0,0 +1,97 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.dto.request.BookingCursor;
+import com.hotel.booking.dto.response.BookingAuditEntryResponse;
+import com.hotel.booking.dto.response.CursorPage;
+import com.hotel.booking.entity.ArchivedBooking;
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.BookingAuditEntry;
+import com.hotel.booking.exception.BookingException;
+import com.hotel.booking.exception.ResourceNotFoundException;
+import com.hotel.booking.repository.ArchivedBookingRepository;
+import com.hotel.booking.repository.BookingAuditRepository;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.security.AuthorizationUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class BookingAuditServiceImpl implements BookingAuditService {
+
+    private final BookingAuditRepository auditRepository;
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final AuthorizationUtil authorizationUtil;
+
+    @Value("${booking.page.default-size:20}")
+    private int defaultPageSize;
+    @Value("${booking.page.max-size:100}")
+    private int maxPageSize;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingAuditEntryResponse> getBookingHistory(Long bookingId) {
+        // the trail outlives archiving, so the hotel may have to come from the archive
+        Long hotelId = bookingRepository.findById(bookingId).map(Booking::getHotelId)
+                .or(() -> archivedBookingRepository.findById(bookingId).map(ArchivedBooking::getHotelId))
+                .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", bookingId));
+        authorizationUtil.verifyHotelAccess(hotelId);
+        return auditRepository.findByBookingIdOrderByIdAsc(bookingId).stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookingAuditEntryResponse> getHotelHistory(Long hotelId, String cursor, Integer size) {
+        authorizationUtil.verifyHotelAccess(hotelId);
+        BookingCursor after = BookingCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        Pageable probe = PageRequest.of(0, pageSize + 1);
+        List<BookingAuditEntry> entries = after == null
+                ? auditRepository.findHotelFirstPage(hotelId, probe)
+                : auditRepository.findHotelPageAfter(hotelId, after.createdAt(), after.id(), probe);
+        boolean hasMore = entries.size() > pageSize;
+        List<BookingAuditEntry> page = hasMore ? entries.subList(0, pageSize) : entries;
+        BookingAuditEntry last = hasMore ? page.get(page.size() - 1) : null;
+        return CursorPage.<BookingAuditEntryResponse>builder()
+                .items(page.stream().map(this::toResponse).collect(Collectors.toList()))
+                .size(page.size())
+                .hasMore(hasMore)
+                .nextCursor(last != null ? new BookingCursor(last.getOccurredAt(), last.getId()).encode() : null)
+                .build();
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new BookingException("Page size must be at least 1");
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    private BookingAuditEntryResponse toResponse(BookingAuditEntry entry) {
+        return BookingAuditEntryResponse.builder()
+                .id(entry.getId())
+                .bookingId(entry.getBookingId())
+                .hotelId(entry.getHotelId())
+                .userId(entry.getUserId())
+                .previousStatus(entry.getPreviousStatus())
+                .newStatus(entry.getNewStatus())
+                .previousPaymentStatus(entry.getPreviousPaymentStatus())
+                .newPaymentStatus(entry.getNewPaymentStatus())
+                .actor(entry.getActor())
+                .occurredAt(entry.getOccurredAt())
+                .build();
+    }
+}
@@ -0,0 +1,13 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.enums.ExportFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+public interface BookingExportService {
+    // access is checked up front; rows are read while the body is written
+    StreamingResponseBody exportBookings(ExportFormat format, Long hotelId, BookingStatus status,
+                                         LocalDate fromDate, LocalDate toDate);
+}
@@ -0,0 +1,183 @@
+package com.hotel.booking.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.enums.ExportFormat;
+import com.hotel.booking.exception.BookingException;
+import com.hotel.booking.exception.UnauthorizedException;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.security.AuthorizationUtil;
+import com.hotel.booking.security.UserContext;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams bookings straight from a MySQL result set to the response.
+ * Each row is written and then detached, so memory stays flat regardless of export size.
+ */
+@Slf4j
+@Service
+public class BookingExportServiceImpl implements BookingExportService {
+
+    // column order for both formats
+    private static final Map<String, Function<Booking, Object>> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("id", Booking::getId);
+        COLUMNS.put("hotelId", Booking::getHotelId);
+        COLUMNS.put("hotelName", Booking::getHotelName);
+        COLUMNS.put("userId", Booking::getUserId);
+        COLUMNS.put("roomId", Booking::getRoomId);
+        COLUMNS.put("roomNumber", Booking::getRoomNumber);
+        COLUMNS.put("roomType", Booking::getRoomType);
+        COLUMNS.put("checkInDate", Booking::getCheckInDate);
+        COLUMNS.put("checkOutDate", Booking::getCheckOutDate);
+        COLUMNS.put("numberOfNights", Booking::getNumberOfNights);
+        COLUMNS.put("pricePerNight", Booking::getPricePerNight);
+        COLUMNS.put("totalAmount", Booking::getTotalAmount);
+        COLUMNS.put("status", Booking::getStatus);
+        COLUMNS.put("paymentStatus", Booking::getPaymentStatus);
+        COLUMNS.put("paymentMethod", Booking::getPaymentMethod);
+        COLUMNS.put("paidAt", Booking::getPaidAt);
+        COLUMNS.put("guestName", Booking::getGuestName);
+        COLUMNS.put("guestEmail", Booking::getGuestEmail);
+        COLUMNS.put("createdAt", Booking::getCreatedAt);
+    }
+
+    private final BookingRepository bookingRepository;
+    private final AuthorizationUtil authorizationUtil;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${booking.export.flush-every:1000}")
+    private int flushEvery;
+
+    public BookingExportServiceImpl(BookingRepository bookingRepository,
+                                    AuthorizationUtil authorizationUtil,
+                                    EntityManager entityManager,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.authorizationUtil = authorizationUtil;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public StreamingResponseBody exportBookings(ExportFormat format, Long hotelId, BookingStatus status,
+                                                LocalDate fromDate, LocalDate toDate) {
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new BookingException("fromDate must not be after toDate");
+        }
+        // runs on the request thread, the body below runs after the handler has returned
+        Long scopedHotelId = resolveHotelScope(hotelId);
+        log.info("Exporting bookings as {} (hotel={}, status={}, from={}, to={})",
+                format, scopedHotelId, status, fromDate, toDate);
+        return out -> transactionTemplate.executeWithoutResult(tx -> {
+            try (Stream<Booking> rows = bookingRepository.streamForExport(scopedHotelId, status, fromDate, toDate)) {
+                long written = format == ExportFormat.CSV
+                        ? writeCsv(rows.iterator(), out)
+                        : writeNdjson(rows.iterator(), out);
+                log.info("Exported {} bookings as {}", written, format);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Booking export aborted", e);
+            }
+        });
+    }
+
+    private Long resolveHotelScope(Long hotelId) {
+        UserContext context = authorizationUtil.getUserContext();
+        if (context.isAdmin()) {
+            return hotelId;
+        }
+        if (context.isStaff()) {
+            // staff always export their own hotel
+            Long ownHotelId = hotelId != null ? hotelId : context.getHotelId();
+            authorizationUtil.verifyHotelAccess(ownHotelId);
+            return ownHotelId;
+        }
+        throw new UnauthorizedException("Only admins and hotel staff can export bookings");
+    }
+
+    private long writeNdjson(Iterator<Booking> rows, OutputStream out) throws IOException {
+        long written = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        while (rows.hasNext()) {
+            Booking booking = rows.next();
+            generator.writeStartObject();
+            for (Map.Entry<String, Function<Booking, Object>> column : COLUMNS.entrySet()) {
+                generator.writeObjectField(column.getKey(), column.getValue().apply(booking));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            entityManager.detach(booking);
+            if (++written % flushEvery == 0) {
+                generator.flush();
+            }
+        }
+        generator.flush();
+        return written;
+    }
+
+    private long writeCsv(Iterator<Booking> rows, OutputStream out) throws IOException {
+        long written = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(String.join(",", COLUMNS.keySet()));
+        writer.write("\r\n");
+        while (rows.hasNext()) {
+            Booking booking = rows.next();
+            boolean first = true;
+            for (Function<Booking, Object> column : COLUMNS.values()) {
+                if (!first) {
+                    writer.write(',');
+                }
+                writer.write(csvCell(column.apply(booking)));
+                first = false;
+            }
+            writer.write("\r\n");
+            entityManager.detach(booking);
+            if (++written % flushEvery == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return written;
+    }
+
+    // RFC 4180 quoting
+    private String csvCell(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof Enum<?> e ? e.name() : value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
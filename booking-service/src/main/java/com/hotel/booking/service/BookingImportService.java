@@ -0,0 +1,11 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.dto.response.BookingImportResponse;
+import com.hotel.booking.enums.ExportFormat;
+
+import java.io.InputStream;
+
+public interface BookingImportService {
+    // admin only; rows are validated and written while the body is read, invalid rows are skipped and reported
+    BookingImportResponse importBookings(ExportFormat format, InputStream body, boolean dryRun);
+}
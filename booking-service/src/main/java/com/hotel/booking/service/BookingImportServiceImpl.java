@@ -0,0 +1,460 @@
+package com.hotel.booking.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.hotel.booking.dto.request.BookingImportRow;
+import com.hotel.booking.dto.response.BookingImportResponse;
+import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.enums.ExportFormat;
+import com.hotel.booking.exception.BookingException;
+import com.hotel.booking.exception.UnauthorizedException;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.security.AuthorizationUtil;
+import com.hotel.booking.security.UserContext;
+import com.hotel.booking.util.GuestSearchNormalizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Loads historical bookings from CSV or NDJSON without going through createBooking.
+ * Rows are parsed and validated one at a time and written as multi-row JDBC batches,
+ * one transaction per batch, so memory stays flat and there is no per-row round trip
+ * to MySQL or to hotel-service. Stays that still hold their room (confirmed, checked in)
+ * are checked against live bookings under the same room lock createBooking takes.
+ * Summary rows for the my-bookings view are filled in set-based once the bookings are in.
+ */
+@Slf4j
+@Service
+public class BookingImportServiceImpl implements BookingImportService {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO bookings
+                (user_id, hotel_id, room_id, hotel_name, room_number, room_type, price_per_night,
+                 check_in_date, check_out_date, total_amount, payment_status, paid_at, payment_method, status,
+                 guest_name, guest_email, guest_phone, number_of_guests, checked_in_at, checked_out_at,
+                 guest_name_key, guest_surname_key, guest_email_key, guest_phone_key, guest_phone_rev_key,
+                 created_at, updated_at, created_by, updated_by)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // closed stays no longer hold their room, so they skip the overlap check
+    private static final Set<BookingStatus> RELEASED =
+            EnumSet.of(BookingStatus.CANCELLED, BookingStatus.CHECKED_OUT, BookingStatus.NO_SHOW);
+
+    // explicit types so null parameters need no metadata lookup
+    private static final int[] ARG_TYPES = {
+            Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.FLOAT,
+            Types.DATE, Types.DATE, Types.FLOAT, Types.VARCHAR, Types.TIMESTAMP, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.DATE, Types.DATE,
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.TIMESTAMP, Types.TIMESTAMP, Types.VARCHAR, Types.VARCHAR
+    };
+
+    private final BookingRepository bookingRepository;
+    private final UserBookingSummaryProjector summaryProjector;
+    private final DashboardCounters dashboardCounters;
+    private final RevenueRollupProjector revenueRollups;
+    private final AuthorizationUtil authorizationUtil;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+
+    @Value("${booking.import.batch-size:1000}")
+    private int batchSize;
+    @Value("${booking.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+    @Value("${booking.import.progress-log-every:100000}")
+    private long progressLogEvery;
+
+    public BookingImportServiceImpl(BookingRepository bookingRepository,
+                                    UserBookingSummaryProjector summaryProjector,
+                                    DashboardCounters dashboardCounters,
+                                    RevenueRollupProjector revenueRollups,
+                                    AuthorizationUtil authorizationUtil,
+                                    JdbcTemplate jdbcTemplate,
+                                    ObjectMapper objectMapper,
+                                    Validator validator,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.summaryProjector = summaryProjector;
+        this.dashboardCounters = dashboardCounters;
+        this.revenueRollups = revenueRollups;
+        this.authorizationUtil = authorizationUtil;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.importedRows = Counter.builder("booking.import.rows").tag("result", "imported").register(meterRegistry);
+        this.rejectedRows = Counter.builder("booking.import.rows").tag("result", "rejected").register(meterRegistry);
+    }
+
+    @Override
+    public BookingImportResponse importBookings(ExportFormat format, InputStream body, boolean dryRun) {
+        UserContext context = authorizationUtil.getUserContext();
+        if (!context.isAdmin()) {
+            throw new UnauthorizedException("Only admins can import bookings");
+        }
+        String actor = "import:" + context.getUsername();
+        log.info("Importing bookings from {} (dryRun={}) for {}", format, dryRun, context.getUsername());
+
+        Long maxIdBefore = bookingRepository.findMaxId();
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        List<ParsedRow> batch = new ArrayList<>(batchSize);
+        List<String> errors = new ArrayList<>();
+        long read = 0;
+        long imported = 0;
+        long rejected = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            RowReader rows = format == ExportFormat.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader);
+            ParsedRow parsed;
+            while ((parsed = rows.next()) != null) {
+                read++;
+                String error = parsed.error() != null ? parsed.error() : validate(parsed.row());
+                if (error != null) {
+                    rejected++;
+                    if (errors.size() < maxReportedErrors) {
+                        errors.add("line " + parsed.line() + ": " + error);
+                    }
+                    continue;
+                }
+                batch.add(parsed);
+                if (batch.size() >= batchSize) {
+                    BatchResult result = writeBatch(batch, now, actor, dryRun, imported);
+                    imported += result.imported();
+                    rejected += report(result.conflicts(), errors);
+                    if (imported % progressLogEvery < batchSize) {
+                        log.info("Imported {} bookings so far ({} rows/s)", imported, rate(imported, started));
+                    }
+                }
+            }
+            BatchResult result = writeBatch(batch, now, actor, dryRun, imported);
+            imported += result.imported();
+            rejected += report(result.conflicts(), errors);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Booking import aborted after " + imported + " rows", e);
+        } finally {
+            importedRows.increment(dryRun ? 0 : imported);
+            rejectedRows.increment(rejected);
+            if (!dryRun && imported > 0) {
+                // covers the batches that landed even when a later one failed
+                long fromId = maxIdBefore != null ? maxIdBefore + 1 : 1;
+                Long toId = bookingRepository.findMaxId();
+                if (toId != null) {
+                    summaryProjector.backfill(fromId, toId);
+                }
+            }
+        }
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Booking import finished: {} read, {} imported, {} rejected in {} ms ({} rows/s){}",
+                read, imported, rejected, durationMs, rate(read, started), dryRun ? " [dry run]" : "");
+        return BookingImportResponse.builder()
+                .format(format)
+                .dryRun(dryRun)
+                .rowsRead(read)
+                .imported(imported)
+                .rejected(rejected)
+                .durationMs(durationMs)
+                .rowsPerSecond(rate(read, started))
+                .errors(errors)
+                .build();
+    }
+
+    // the overlap checks run in the write transaction, so their room locks cover the insert
+    private BatchResult writeBatch(List<ParsedRow> batch, LocalDateTime now, String actor,
+                                   boolean dryRun, long importedSoFar) {
+        if (batch.isEmpty()) {
+            return new BatchResult(0, List.of());
+        }
+        long line = batch.get(batch.size() - 1).line();
+        BatchResult result;
+        try {
+            result = transactionTemplate.execute(tx -> {
+                List<Object[]> parameters = new ArrayList<>(batch.size());
+                List<String> conflicts = new ArrayList<>();
+                List<BookingImportRow> heldRooms = new ArrayList<>();
+                // imports publish no booking events, so each batch moves the dashboard counters and rollups itself
+                DashboardCounters.Delta delta = DashboardCounters.Delta.ZERO;
+                RevenueRollupProjector.Changes rollups = new RevenueRollupProjector.Changes();
+                for (ParsedRow parsed : batch) {
+                    BookingImportRow row = parsed.row();
+                    String conflict = findRoomConflict(row, heldRooms);
+                    if (conflict != null) {
+                        conflicts.add("line " + parsed.line() + ": " + conflict);
+                        continue;
+                    }
+                    parameters.add(toParameters(row, now, actor));
+                    delta = delta.plus(
+                            DashboardCounters.Delta.of(row.getStatus(), row.getPaymentStatus(), row.getTotalAmount()));
+                    if (row.getStatus() != BookingStatus.CANCELLED) {
+                        rollups.addBooking(row.getHotelId(), row.getCreatedAt() != null ? row.getCreatedAt() : now,
+                                row.getCheckInDate(), 1, row.getTotalAmount());
+                    }
+                }
+                if (!dryRun && !parameters.isEmpty()) {
+                    // rewriteBatchedStatements turns this into a handful of multi-row inserts
+                    jdbcTemplate.batchUpdate(INSERT_SQL, parameters, ARG_TYPES);
+                    dashboardCounters.apply(delta);
+                    revenueRollups.apply(rollups);
+                }
+                return new BatchResult(parameters.size(), conflicts);
+            });
+        } catch (DataAccessException e) {
+            throw new BookingException("Import stopped near line " + line + " after " + importedSoFar
+                    + " bookings were written: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+        batch.clear();
+        return result;
+    }
+
+    // same overlap rule and room lock as createBooking, plus the rows accepted earlier in this batch
+    private String findRoomConflict(BookingImportRow row, List<BookingImportRow> heldRooms) {
+        if (RELEASED.contains(row.getStatus())) {
+            return null;
+        }
+        boolean clashesInBatch = heldRooms.stream().anyMatch(other -> other.getRoomId().equals(row.getRoomId())
+                && !other.getCheckInDate().isAfter(row.getCheckOutDate())
+                && !other.getCheckOutDate().isBefore(row.getCheckInDate()));
+        if (clashesInBatch || !bookingRepository.findConflictingBookingsWithLock(
+                row.getRoomId(), row.getCheckInDate(), row.getCheckOutDate()).isEmpty()) {
+            return "Room " + row.getRoomId() + " is already booked between "
+                    + row.getCheckInDate() + " and " + row.getCheckOutDate();
+        }
+        heldRooms.add(row);
+        return null;
+    }
+
+    private int report(List<String> conflicts, List<String> errors) {
+        for (String conflict : conflicts) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(conflict);
+            }
+        }
+        return conflicts.size();
+    }
+
+    private String validate(BookingImportRow row) {
+        Set<ConstraintViolation<BookingImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!row.getCheckOutDate().isAfter(row.getCheckInDate())) {
+            return "Check-out date must be after check-in date";
+        }
+        // a hold without an expiry would block the room forever
+        if (row.getStatus() == BookingStatus.PENDING) {
+            return "Pending holds cannot be imported";
+        }
+        return null;
+    }
+
+    private Object[] toParameters(BookingImportRow row, LocalDateTime now, String actor) {
+        BookingStatus status = row.getStatus();
+        boolean arrived = status == BookingStatus.CHECKED_IN || status == BookingStatus.CHECKED_OUT;
+        String guestPhone = row.getGuestPhone() != null ? row.getGuestPhone() : "";
+        // same keys Booking.refreshGuestSearchKeys computes on save
+        return new Object[]{
+                row.getUserId(), row.getHotelId(), row.getRoomId(), row.getHotelName(),
+                row.getRoomNumber(), row.getRoomType(), row.getPricePerNight(),
+                row.getCheckInDate(), row.getCheckOutDate(), row.getTotalAmount(),
+                row.getPaymentStatus() != null ? row.getPaymentStatus().name() : null,
+                row.getPaidAt(), row.getPaymentMethod(), status.name(),
+                row.getGuestName(), row.getGuestEmail(), guestPhone,
+                row.getNumberOfGuests() != null ? row.getNumberOfGuests() : 1,
+                arrived ? row.getCheckInDate() : null,
+                status == BookingStatus.CHECKED_OUT ? row.getCheckOutDate() : null,
+                GuestSearchNormalizer.name(row.getGuestName()),
+                GuestSearchNormalizer.surname(row.getGuestName()),
+                GuestSearchNormalizer.email(row.getGuestEmail()),
+                GuestSearchNormalizer.phoneDigits(guestPhone),
+                GuestSearchNormalizer.reversedPhoneDigits(guestPhone),
+                row.getCreatedAt() != null ? row.getCreatedAt() : now, now, actor, actor
+        };
+    }
+
+    private long rate(long rows, long startedNanos) {
+        long elapsedNanos = Math.max(System.nanoTime() - startedNanos, 1);
+        return rows * 1_000_000_000L / elapsedNanos;
+    }
+
+    private String describe(Exception e) {
+        return e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage();
+    }
+
+    // row plus the source line it started on, or the reason it could not be read
+    private record ParsedRow(long line, BookingImportRow row, String error) {
+    }
+
+    // rows written by one batch and the ones it turned away for overlapping a live booking
+    private record BatchResult(int imported, List<String> conflicts) {
+    }
+
+    private interface RowReader {
+        // null at end of input
+        ParsedRow next() throws IOException;
+    }
+
+    // one JSON object per line, blank lines ignored
+    private final class NdjsonRowReader implements RowReader {
+
+        private final BufferedReader reader;
+        private final ObjectReader rowReader = objectMapper.readerFor(BookingImportRow.class);
+        private long line;
+
+        NdjsonRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                if (text == null) {
+                    return null;
+                }
+                line++;
+            } while (text.isBlank());
+            try {
+                return new ParsedRow(line, rowReader.readValue(text), null);
+            } catch (JsonProcessingException e) {
+                return new ParsedRow(line, null, describe(e));
+            }
+        }
+    }
+
+    // RFC 4180 with a header row; quoted cells may hold commas, doubled quotes and line breaks
+    private final class CsvRowReader implements RowReader {
+
+        private final BufferedReader reader;
+        private List<String> header;
+        private long line;
+
+        CsvRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            if (header == null) {
+                List<String> names = readRecord();
+                if (names == null) {
+                    return null;
+                }
+                // tolerate a byte order mark from spreadsheet exports
+                names.set(0, names.get(0).replace("\uFEFF", ""));
+                header = names.stream().map(String::trim).toList();
+            }
+            List<String> cells;
+            long start;
+            do {
+                start = line + 1;
+                cells = readRecord();
+                if (cells == null) {
+                    return null;
+                }
+            } while (cells.size() == 1 && cells.get(0).isBlank());
+            if (cells.size() != header.size()) {
+                return new ParsedRow(start, null,
+                        "expected " + header.size() + " columns, found " + cells.size());
+            }
+            // empty cells are treated as missing values
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < cells.size(); i++) {
+                if (!cells.get(i).isEmpty()) {
+                    values.put(header.get(i), cells.get(i));
+                }
+            }
+            try {
+                return new ParsedRow(start, objectMapper.convertValue(values, BookingImportRow.class), null);
+            } catch (IllegalArgumentException e) {
+                return new ParsedRow(start, null,
+                        e.getCause() instanceof Exception cause ? describe(cause) : e.getMessage());
+            }
+        }
+
+        private List<String> readRecord() throws IOException {
+            String text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+            List<String> cells = new ArrayList<>();
+            StringBuilder cell = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == text.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    // the quoted cell continues on the next line
+                    String next = reader.readLine();
+                    if (next == null) {
+                        break;
+                    }
+                    line++;
+                    cell.append('\n');
+                    text = next;
+                    i = 0;
+                    continue;
+                }
+                char c = text.charAt(i++);
+                if (quoted) {
+                    if (c != '"') {
+                        cell.append(c);
+                    } else if (i < text.length() && text.charAt(i) == '"') {
+                        cell.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                } else {
+                    cell.append(c);
+                }
+            }
+            cells.add(cell.toString());
+            return cells;
+        }
+    }
+}
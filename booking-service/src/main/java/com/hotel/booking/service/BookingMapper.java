@@ -0,0 +1,104 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.dto.response.BookingResponse;
+import com.hotel.booking.entity.ArchivedBooking;
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.UserBookingSummary;
+import com.hotel.booking.repository.projection.BookingListRow;
+import org.springframework.stereotype.Component;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+// builds BookingResponse from a managed entity (single reads/writes), an archived booking, a list projection row or a guest summary row
+@Component
+public class BookingMapper {
+
+    public BookingResponse toResponse(Booking b) {
+        return BookingResponse.builder()
+                .id(b.getId())
+                .hotelName(b.getHotelName())
+                .roomNumber(b.getRoomNumber())
+                .roomType(b.getRoomType())
+                .checkInDate(b.getCheckInDate())
+                .checkOutDate(b.getCheckOutDate())
+                .totalAmount(b.getTotalAmount())
+                .status(b.getStatus())
+                .guestName(b.getGuestName())
+                .guestEmail(b.getGuestEmail())
+                .paymentStatus(b.getPaymentStatus() != null ? b.getPaymentStatus().name() : "PENDING")
+                .paymentMethod(b.getPaymentMethod())
+                .paidAt(b.getPaidAt())
+                .holdExpiresAt(b.getHoldExpiresAt())
+                .guestPhone(b.getGuestPhone())
+                .numberOfGuests(b.getNumberOfGuests())
+                .numberOfNights(b.getNumberOfNights())
+                .build();
+    }
+
+    public BookingResponse toResponse(ArchivedBooking b) {
+        return BookingResponse.builder()
+                .id(b.getId())
+                .hotelName(b.getHotelName())
+                .roomNumber(b.getRoomNumber())
+                .roomType(b.getRoomType())
+                .checkInDate(b.getCheckInDate())
+                .checkOutDate(b.getCheckOutDate())
+                .totalAmount(b.getTotalAmount())
+                .status(b.getStatus())
+                .guestName(b.getGuestName())
+                .guestEmail(b.getGuestEmail())
+                .paymentStatus(b.getPaymentStatus() != null ? b.getPaymentStatus().name() : "PENDING")
+                .paymentMethod(b.getPaymentMethod())
+                .paidAt(b.getPaidAt())
+                .guestPhone(b.getGuestPhone())
+                .numberOfGuests(b.getNumberOfGuests())
+                .numberOfNights(b.getNumberOfNights())
+                .build();
+    }
+
+    public BookingResponse toResponse(BookingListRow row) {
+        return BookingResponse.builder()
+                .id(row.id())
+                .hotelName(row.hotelName())
+                .roomNumber(row.roomNumber())
+                .roomType(row.roomType())
+                .checkInDate(row.checkInDate())
+                .checkOutDate(row.checkOutDate())
+                .totalAmount(row.totalAmount())
+                .status(row.status())
+                .guestName(row.guestName())
+                .guestEmail(row.guestEmail())
+                .paymentStatus(row.paymentStatus() != null ? row.paymentStatus().name() : "PENDING")
+                .paymentMethod(row.paymentMethod())
+                .paidAt(row.paidAt())
+                .holdExpiresAt(row.holdExpiresAt())
+                .guestPhone(row.guestPhone())
+                .numberOfGuests(row.numberOfGuests())
+                .numberOfNights((int) DAYS.between(row.checkInDate(), row.checkOutDate()))
+                .build();
+    }
+
+    // same fields as the list projection row, so my-bookings keeps its response shape
+    public BookingResponse toResponse(UserBookingSummary summary) {
+        return BookingResponse.builder()
+                .id(summary.getBookingId())
+                .hotelName(summary.getHotelName())
+                .roomNumber(summary.getRoomNumber())
+                .roomType(summary.getRoomType())
+                .checkInDate(summary.getCheckInDate())
+                .checkOutDate(summary.getCheckOutDate())
+                .totalAmount(summary.getTotalAmount())
+                .status(summary.getStatus())
+                .guestName(summary.getGuestName())
+                .guestEmail(summary.getGuestEmail())
+                .paymentStatus(summary.getPaymentStatus() != null ? summary.getPaymentStatus().name() : "PENDING")
+                .paymentMethod(summary.getPaymentMethod())
+                .paidAt(summary.getPaidAt())
+                .holdExpiresAt(summary.getHoldExpiresAt())
+                .guestPhone(summary.getGuestPhone())
+                .numberOfGuests(summary.getNumberOfGuests())
+                .numberOfNights((int) DAYS.between(summary.getCheckInDate(), summary.getCheckOutDate()))
+                .createdAt(summary.getCreatedAt())
+                .build();
+    }
+}
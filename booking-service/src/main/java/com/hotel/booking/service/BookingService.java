@@ -6,7 +6,9 @@ import com.hotel.booking.dto.request.CheckOutRequest;
 import com.hotel.booking.dto.response.AvailabilityResponse;
 import com.hotel.booking.dto.response.AvailableHotelDto;
 import com.hotel.booking.dto.response.AvailableRoomTypeDto;
+import com.hotel.booking.dto.response.BookingChangesResponse;
 import com.hotel.booking.dto.response.BookingResponse;
+import com.hotel.booking.dto.response.CursorPage;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -16,15 +18,27 @@ public interface BookingService {
     // existing methods
     AvailabilityResponse checkAvailability(Long hotelId, LocalDate checkInDate, LocalDate checkOutDate);
     BookingResponse createBooking(BookingCreateRequest request);
+    // time-limited holds while the guest pays
+    BookingResponse holdBooking(BookingCreateRequest request);
+    BookingResponse confirmHold(Long bookingId);
     BookingResponse getBookingById(Long bookingId);
-    List<BookingResponse> getMyBookings();
-    List<BookingResponse> getHotelBookings(Long hotelId);
-    List<BookingResponse> getAllBookings();
+    // list endpoints are keyset-paginated; cursor is the previous page's nextCursor
+    CursorPage<BookingResponse> getMyBookings(String cursor, Integer size);
+    CursorPage<BookingResponse> getHotelBookings(Long hotelId, String cursor, Integer size);
+    CursorPage<BookingResponse> getAllBookings(String cursor, Integer size);
+    // strong ETags from cheap probes, checked before the full read
+    String getBookingETag(Long bookingId);
+    String getMyBookingsETag(String cursor, Integer size);
+    String getHotelBookingsETag(Long hotelId, String cursor, Integer size);
+    // delta sync: hotelId is required for staff and admin, ignored for guests
+    BookingChangesResponse getBookingChanges(Long hotelId, String since, Integer size);
     BookingResponse cancelBooking(Long bookingId, String reason);
     BookingResponse checkInGuest(Long bookingId, CheckInRequest request);
     BookingResponse checkOutGuest(Long bookingId, CheckOutRequest request);
     List<BookingResponse> getTodayCheckIns(Long hotelId);
     List<BookingResponse> getTodayCheckOuts(Long hotelId);
+    // front-desk lookup by guest name, email or phone prefix
+    List<BookingResponse> searchGuests(Long hotelId, String query, Integer limit);
     // new methods for search functionality
     List<AvailableHotelDto> searchAvailableHotels(String city, LocalDate checkInDate, LocalDate checkOutDate);
     List<AvailableRoomTypeDto> getAvailableRoomTypes(Long hotelId, LocalDate checkInDate, LocalDate checkOutDate);
@@ -4,28 +4,47 @@ import com.hotel.booking.client.HotelServiceClient;
 import com.hotel.booking.dto.external.HotelDto;
 import com.hotel.booking.dto.external.RoomDto;
 import com.hotel.booking.dto.request.BookingCreateRequest;
+import com.hotel.booking.dto.request.BookingCursor;
+import com.hotel.booking.dto.request.ChangeWatermark;
 import com.hotel.booking.dto.request.CheckInRequest;
 import com.hotel.booking.dto.request.CheckOutRequest;
 import com.hotel.booking.dto.response.*;
+import com.hotel.booking.entity.ArchivedBooking;
 import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.BookingTombstone;
+import com.hotel.booking.entity.UserBookingSummary;
 import com.hotel.booking.enums.BookingStatus;
 import com.hotel.booking.enums.PaymentStatus;
 import com.hotel.booking.event.BookingCreatedEvent;
+import com.hotel.booking.event.BookingStateChangedEvent;
 import com.hotel.booking.event.GuestCheckedInEvent;
 import com.hotel.booking.event.GuestCheckedOutEvent;
 import com.hotel.booking.exception.BookingException;
 import com.hotel.booking.exception.ResourceNotFoundException;
 import com.hotel.booking.exception.UnauthorizedException;
+import com.hotel.booking.repository.ArchivedBookingRepository;
 import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.BookingTombstoneRepository;
+import com.hotel.booking.repository.UserBookingSummaryRepository;
+import com.hotel.booking.repository.projection.BookingListRow;
+import com.hotel.booking.repository.projection.BookingVersionView;
+import com.hotel.booking.scheduler.BookingHoldExpiryScheduler;
 import com.hotel.booking.security.AuthorizationUtil;
 import com.hotel.booking.security.UserContext;
+import com.hotel.booking.util.GuestSearchNormalizer;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -37,9 +56,24 @@ import java.util.stream.Collectors;
 public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final BookingTombstoneRepository tombstoneRepository;
+    private final UserBookingSummaryRepository summaryRepository;
     private final HotelServiceClient hotelServiceClient;
-    private final KafkaProducerService kafkaProducerService;
+    private final OutboxService outboxService;
     private final AuthorizationUtil authorizationUtil;
+    private final BookingMapper bookingMapper;
+    private final BookingHoldExpiryScheduler holdExpiryScheduler;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${booking.hold.ttl-minutes:10}")
+    private long holdTtlMinutes;
+    @Value("${booking.page.default-size:20}")
+    private int defaultPageSize;
+    @Value("${booking.page.max-size:100}")
+    private int maxPageSize;
+    @Value("${booking.sync.settle-seconds:5}")
+    private long syncSettleSeconds;
 
     @Override
     @Transactional(readOnly = true)
@@ -174,6 +208,7 @@ public class BookingServiceImpl implements BookingService {
             throw new UnauthorizedException("Only staff can update payment status");
         }
         authorizationUtil.verifyHotelAccess(booking.getHotelId());
+        PaymentStatus previousPaymentStatus = booking.getPaymentStatus();
         PaymentStatus newStatus = PaymentStatus.valueOf(paymentStatus.toUpperCase());
         booking.setPaymentStatus(newStatus);
         if (newStatus == PaymentStatus.PAID) {
@@ -183,8 +218,8 @@ public class BookingServiceImpl implements BookingService {
         booking.setUpdatedBy(context.getUsername());
         Booking updatedBooking = bookingRepository.save(booking);
         log.info("Payment status updated to {} for booking {}", paymentStatus, bookingId);
-        RoomDto room = hotelServiceClient.getRoomById(booking.getRoomId());
-        return mapToResponse(updatedBooking, room);
+        publishStateChange(updatedBooking, updatedBooking.getStatus(), previousPaymentStatus, context.getUsername());
+        return bookingMapper.toResponse(updatedBooking);
     }
 
     @Override
@@ -198,118 +233,204 @@ public class BookingServiceImpl implements BookingService {
         if (!context.isGuest() && !context.isAdmin()) {
             throw new UnauthorizedException("Only guests can create bookings");
         }
-         // validate dates
-        validateDates(request.getCheckInDate(), request.getCheckOutDate());
-        // find available room of requested type
-        Long assignedRoomId = findAvailableRoomByType(
-                request.getHotelId(),
-                request.getRoomType(),
-                request.getCheckInDate(),
-                request.getCheckOutDate()
-        );
+        Booking savedBooking = reserveRoom(request, context, BookingStatus.CONFIRMED, null);
 
-        if (assignedRoomId == null) {
-            throw new BookingException("No rooms of type " + request.getRoomType() + " available for selected dates");
-        }
+        publishBookingCreatedEvent(savedBooking);
 
-        // get room details
-        RoomDto room = hotelServiceClient.getRoomById(assignedRoomId);
-        ApiResponse hotelDtoApiResponse=hotelServiceClient.getHotelByIdWrapped(request.getHotelId());
-       HotelDto hotel=(HotelDto) hotelDtoApiResponse.getData();
-        // double-check room belongs to hotel
-        if (!room.getHotelId().equals(request.getHotelId())) {
-            throw new BookingException("Room does not belong to specified hotel");
-        }
+        return bookingMapper.toResponse(savedBooking);
+    }
 
-        // pessimistic lock check for race conditions
-        log.debug("Acquiring lock and checking for conflicting bookings for room {}", assignedRoomId);
-        List<Booking> conflicts = bookingRepository.findConflictingBookingsWithLock(
-                assignedRoomId,
-                request.getCheckInDate(),
-                request.getCheckOutDate()
-        );
+    @Override
+    @Transactional
+    public BookingResponse holdBooking(BookingCreateRequest request) {
+        UserContext context = authorizationUtil.getUserContext();
+        log.info("Placing hold for user {} in hotel {} for room type {}",
+                context.getUserId(), request.getHotelId(), request.getRoomType());
 
-        if (!conflicts.isEmpty()) {
-            log.warn("Room {} was just booked by another user, trying to find another room", assignedRoomId);
-            throw new BookingException("Room was just booked. Please try again.");
+        if (!context.isGuest() && !context.isAdmin()) {
+            throw new UnauthorizedException("Only guests can hold rooms");
         }
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(holdTtlMinutes);
+        Booking heldBooking = reserveRoom(request, context, BookingStatus.PENDING, expiresAt);
 
-        log.debug("No conflicts found, proceeding with booking creation for room {}", assignedRoomId);
-
-        // calculate total amount
-        int numberOfNights = (int) (request.getCheckOutDate().toEpochDay() - request.getCheckInDate().toEpochDay());
-        float totalAmount = room.getPricePerNight() * numberOfNights;
-
-        // create booking entity
-        Booking booking = Booking.builder()
-                .userId(context.getUserId())
-                .hotelId(request.getHotelId())
-                .roomId(assignedRoomId) // backend assigned room
-                .checkInDate(request.getCheckInDate())
-                .checkOutDate(request.getCheckOutDate())
-                .totalAmount(totalAmount)
-                .paymentStatus(PaymentStatus.PENDING)
-                .status(BookingStatus.CONFIRMED)
-                .guestName(request.getGuestName())
-                .guestEmail(request.getGuestEmail())
-                .guestPhone(request.getGuestPhone())
-                .numberOfGuests(request.getNumberOfGuests())
-                .hotelName(hotel.getName())
-                .build();
+        holdExpiryScheduler.register(heldBooking.getId(), expiresAt);
+        return bookingMapper.toResponse(heldBooking);
+    }
 
-        booking.setCreatedBy(context.getUsername());
-        Booking savedBooking = bookingRepository.save(booking);
+    @Override
+    @Transactional
+    public BookingResponse confirmHold(Long bookingId) {
+        // locked so the confirmation cannot interleave with the expiry release
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", bookingId));
+        UserContext context = authorizationUtil.getUserContext();
 
-        log.info("Booking created with ID: {} for room {}", savedBooking.getId(), assignedRoomId);
+        if (!context.isAdmin() && !booking.getUserId().equals(context.getUserId())) {
+            throw new UnauthorizedException("You can only confirm your own bookings");
+        }
+        if (booking.getStatus() != BookingStatus.PENDING) {
+            throw new BookingException(
+                    "Booking is not on hold. Current status: " + booking.getStatus().getDisplayName());
+        }
+        if (booking.getHoldExpiresAt() != null && booking.getHoldExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new BookingException("Hold has expired. Please book again.");
+        }
 
-        publishBookingCreatedEvent(savedBooking, room);
+        booking.setStatus(BookingStatus.CONFIRMED);
+        booking.setHoldExpiresAt(null);
+        booking.setUpdatedBy(context.getUsername());
+        Booking confirmedBooking = bookingRepository.save(booking);
+        log.info("Hold {} confirmed by user {}", bookingId, context.getUserId());
+        publishStateChange(confirmedBooking, BookingStatus.PENDING, confirmedBooking.getPaymentStatus(), context.getUsername());
 
-        return mapToResponse(savedBooking, room);
+        publishBookingCreatedEvent(confirmedBooking);
+        return bookingMapper.toResponse(confirmedBooking);
     }
 
     @Override
     @Transactional(readOnly = true)
     public BookingResponse getBookingById(Long bookingId) {
-        Booking booking = findBookingById(bookingId);
-        authorizationUtil.verifyBookingAccess(booking.getUserId(), booking.getHotelId());
-        RoomDto room = hotelServiceClient.getRoomById(booking.getRoomId());
-        return mapToResponse(booking, room);
+        Optional<Booking> booking = bookingRepository.findById(bookingId);
+        if (booking.isPresent()) {
+            authorizationUtil.verifyBookingAccess(booking.get().getUserId(), booking.get().getHotelId());
+            return bookingMapper.toResponse(booking.get());
+        }
+        // closed bookings past retention live in the archive
+        ArchivedBooking archived = archivedBookingRepository.findById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", bookingId));
+        authorizationUtil.verifyBookingAccess(archived.getUserId(), archived.getHotelId());
+        return bookingMapper.toResponse(archived);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingResponse> getMyBookings() {
+    public CursorPage<BookingResponse> getMyBookings(String cursor, Integer size) {
         UserContext context = authorizationUtil.getUserContext();
         if (!context.isGuest()) {
             throw new UnauthorizedException("Only guests can view their bookings");
         }
-        List<Booking> bookings = bookingRepository.findByUserIdOrderByCreatedAtDesc(context.getUserId());
-        return bookings.stream()
-                .map(this::mapToResponseWithRoom)
-                .collect(Collectors.toList());
+        BookingCursor after = BookingCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        Pageable probe = PageRequest.of(0, pageSize + 1);
+        // served from the per-user read model
+        List<UserBookingSummary> summaries = after == null
+                ? summaryRepository.findUserFirstPage(context.getUserId(), probe)
+                : summaryRepository.findUserPageAfter(context.getUserId(), after.createdAt(), after.id(), probe);
+        boolean hasMore = summaries.size() > pageSize;
+        List<UserBookingSummary> page = hasMore ? summaries.subList(0, pageSize) : summaries;
+        UserBookingSummary last = hasMore ? page.get(page.size() - 1) : null;
+        return CursorPage.<BookingResponse>builder()
+                .items(page.stream().map(bookingMapper::toResponse).collect(Collectors.toList()))
+                .size(page.size())
+                .hasMore(hasMore)
+                .nextCursor(last != null ? new BookingCursor(last.getCreatedAt(), last.getBookingId()).encode() : null)
+                .build();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingResponse> getHotelBookings(Long hotelId) {
+    public CursorPage<BookingResponse> getHotelBookings(Long hotelId, String cursor, Integer size) {
         authorizationUtil.verifyHotelAccess(hotelId);
-        List<Booking> bookings = bookingRepository.findByHotelIdOrderByCreatedAtDesc(hotelId);
-        return bookings.stream()
-                .map(this::mapToResponseWithRoom)
-                .collect(Collectors.toList());
+        BookingCursor after = BookingCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        Pageable probe = PageRequest.of(0, pageSize + 1);
+        List<BookingListRow> bookings = after == null
+                ? bookingRepository.findHotelFirstPage(hotelId, probe)
+                : bookingRepository.findHotelPageAfter(hotelId, after.createdAt(), after.id(), probe);
+        return toCursorPage(bookings, pageSize);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingResponse> getAllBookings() {
+    public CursorPage<BookingResponse> getAllBookings(String cursor, Integer size) {
         UserContext context = authorizationUtil.getUserContext();
         if (!context.isAdmin()) {
             throw new UnauthorizedException("Only admins can view all bookings");
         }
-        List<Booking> bookings = bookingRepository.findAll();
-        return bookings.stream()
-                .map(this::mapToResponseWithRoom)
-                .collect(Collectors.toList());
+        BookingCursor after = BookingCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        Pageable probe = PageRequest.of(0, pageSize + 1);
+        List<BookingListRow> bookings = after == null
+                ? bookingRepository.findFirstPage(probe)
+                : bookingRepository.findPageAfter(after.createdAt(), after.id(), probe);
+        return toCursorPage(bookings, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getBookingETag(Long bookingId) {
+        BookingVersionView version = bookingRepository.findVersionById(bookingId)
+                .or(() -> archivedBookingRepository.findVersionById(bookingId))
+                .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", bookingId));
+        // authorize before answering, a 304 must not confirm someone else's booking exists
+        authorizationUtil.verifyBookingAccess(version.getUserId(), version.getHotelId());
+        return toETag("booking", bookingId, version.getUpdatedAt());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getMyBookingsETag(String cursor, Integer size) {
+        UserContext context = authorizationUtil.getUserContext();
+        if (!context.isGuest()) {
+            throw new UnauthorizedException("Only guests can view their bookings");
+        }
+        Long userId = context.getUserId();
+        return toETag("user", userId, bookingRepository.findLastUpdateForUser(userId),
+                tombstoneRepository.findLastIdForUser(userId), cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getHotelBookingsETag(Long hotelId, String cursor, Integer size) {
+        authorizationUtil.verifyHotelAccess(hotelId);
+        return toETag("hotel", hotelId, bookingRepository.findLastUpdateForHotel(hotelId),
+                tombstoneRepository.findLastIdForHotel(hotelId), cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookingChangesResponse getBookingChanges(Long hotelId, String since, Integer size) {
+        UserContext context = authorizationUtil.getUserContext();
+        if (!context.isGuest()) {
+            if (hotelId == null) {
+                throw new BookingException("hotelId is required");
+            }
+            authorizationUtil.verifyHotelAccess(hotelId);
+        }
+        ChangeWatermark from = ChangeWatermark.decode(since);
+        int pageSize = resolvePageSize(size);
+        Pageable probe = PageRequest.of(0, pageSize + 1);
+        LocalDateTime settledBefore = LocalDateTime.now().minusSeconds(syncSettleSeconds);
+
+        List<BookingListRow> changed = context.isGuest()
+                ? bookingRepository.findUserChangesAfter(context.getUserId(),
+                        from.updatedAt(), from.bookingId(), settledBefore, probe)
+                : bookingRepository.findHotelChangesAfter(hotelId,
+                        from.updatedAt(), from.bookingId(), settledBefore, probe);
+        List<BookingTombstone> deleted = context.isGuest()
+                ? tombstoneRepository.findUserTombstonesAfter(context.getUserId(), from.tombstoneId(), settledBefore, probe)
+                : tombstoneRepository.findHotelTombstonesAfter(hotelId, from.tombstoneId(), settledBefore, probe);
+
+        boolean hasMore = changed.size() > pageSize || deleted.size() > pageSize;
+        if (changed.size() > pageSize) {
+            changed = changed.subList(0, pageSize);
+        }
+        if (deleted.size() > pageSize) {
+            deleted = deleted.subList(0, pageSize);
+        }
+        // advance each half of the watermark independently; an empty page keeps the old position
+        BookingListRow lastChanged = changed.isEmpty() ? null : changed.get(changed.size() - 1);
+        ChangeWatermark next = new ChangeWatermark(
+                lastChanged != null ? lastChanged.updatedAt() : from.updatedAt(),
+                lastChanged != null ? lastChanged.id() : from.bookingId(),
+                deleted.isEmpty() ? from.tombstoneId() : deleted.get(deleted.size() - 1).getId());
+
+        return BookingChangesResponse.builder()
+                .changed(changed.stream().map(bookingMapper::toResponse).collect(Collectors.toList()))
+                .deletedIds(deleted.stream().map(BookingTombstone::getBookingId).collect(Collectors.toList()))
+                .watermark(next.encode())
+                .hasMore(hasMore)
+                .build();
     }
 
     @Override
@@ -329,15 +450,16 @@ public class BookingServiceImpl implements BookingService {
                     "Booking cannot be cancelled. Current status: " + booking.getStatus().getDisplayName());
         }
 
+        BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(BookingStatus.CANCELLED);
         booking.setCancelledAt(LocalDate.now());
         booking.setUpdatedBy(context.getUsername());
         Booking updatedBooking = bookingRepository.save(booking);
 
         log.info("Booking {} cancelled by user {}", bookingId, context.getUserId());
+        publishStateChange(updatedBooking, previousStatus, updatedBooking.getPaymentStatus(), context.getUsername());
 
-        RoomDto room = hotelServiceClient.getRoomById(booking.getRoomId());
-        return mapToResponse(updatedBooking, room);
+        return bookingMapper.toResponse(updatedBooking);
     }
 
     @Override
@@ -362,17 +484,12 @@ public class BookingServiceImpl implements BookingService {
 
         Booking updatedBooking = bookingRepository.save(booking);
         log.info("Guest checked in for booking {}", bookingId);
+        publishStateChange(updatedBooking, BookingStatus.CONFIRMED, updatedBooking.getPaymentStatus(), context.getUsername());
 
-        try {
-            hotelServiceClient.updateRoomStatus(booking.getRoomId(), "OCCUPIED");
-        } catch (Exception e) {
-            log.error("Failed to update room status: {}", e.getMessage());
-        }
-
+        // hotel-service moves the room to OCCUPIED when it consumes this event
         publishGuestCheckedInEvent(updatedBooking);
 
-        RoomDto room = hotelServiceClient.getRoomById(booking.getRoomId());
-        return mapToResponse(updatedBooking, room);
+        return bookingMapper.toResponse(updatedBooking);
     }
 
     @Override
@@ -390,6 +507,7 @@ public class BookingServiceImpl implements BookingService {
             throw new BookingException("Cannot check out. Current status: " + booking.getStatus().getDisplayName());
         }
 
+        PaymentStatus previousPaymentStatus = booking.getPaymentStatus();
         booking.setStatus(BookingStatus.CHECKED_OUT);
         booking.setCheckedOutAt(LocalDate.now());
         booking.setUpdatedBy(context.getUsername());
@@ -400,39 +518,147 @@ public class BookingServiceImpl implements BookingService {
         }
         Booking updatedBooking = bookingRepository.save(booking);
         log.info("Guest checked out for booking {}", bookingId);
+        publishStateChange(updatedBooking, BookingStatus.CHECKED_IN, previousPaymentStatus, context.getUsername());
 
-        try {
-            hotelServiceClient.updateRoomStatus(booking.getRoomId(), "CLEANING");
-        } catch (Exception e) {
-            log.error("Failed to update room status: {}", e.getMessage());
-        }
-
+        // hotel-service moves the room to CLEANING when it consumes this event
         publishGuestCheckedOutEvent(updatedBooking, request);
 
-        RoomDto room = hotelServiceClient.getRoomById(booking.getRoomId());
-        return mapToResponse(updatedBooking, room);
+        return bookingMapper.toResponse(updatedBooking);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<BookingResponse> getTodayCheckIns(Long hotelId) {
         authorizationUtil.verifyHotelAccess(hotelId);
-        List<Booking> bookings = bookingRepository.findUpcomingCheckIns(hotelId, LocalDate.now());
+        List<BookingListRow> bookings = bookingRepository.findUpcomingCheckIns(hotelId, LocalDate.now());
         return bookings.stream()
-                .map(this::mapToResponseWithRoom)
+                .map(bookingMapper::toResponse)
                 .collect(Collectors.toList());
     }
     @Override
     @Transactional(readOnly = true)
     public List<BookingResponse> getTodayCheckOuts(Long hotelId) {
         authorizationUtil.verifyHotelAccess(hotelId);
-        List<Booking> bookings = bookingRepository.findUpcomingCheckOuts(hotelId, LocalDate.now());
+        List<BookingListRow> bookings = bookingRepository.findUpcomingCheckOuts(hotelId, LocalDate.now());
         return bookings.stream()
-                .map(this::mapToResponseWithRoom)
+                .map(bookingMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingResponse> searchGuests(Long hotelId, String query, Integer limit) {
+        authorizationUtil.verifyHotelAccess(hotelId);
+        if (query == null || query.trim().length() < 2) {
+            throw new BookingException("Search query must have at least 2 characters");
+        }
+        Pageable page = PageRequest.of(0, limit == null ? 20 : Math.max(1, Math.min(limit, 50)));
+        String trimmed = query.trim();
+        String digits = GuestSearchNormalizer.phoneDigits(trimmed);
+
+        // hot table only: archived stays are past retention and reachable by id
+        // pick the index from the shape of the query instead of OR-ing every column
+        List<BookingListRow> matches = new ArrayList<>();
+        if (trimmed.contains("@")) {
+            matches.addAll(bookingRepository.searchByGuestEmail(hotelId,
+                    GuestSearchNormalizer.likePrefix(GuestSearchNormalizer.email(trimmed)), page));
+        } else if (digits.length() >= 3 && trimmed.matches("[\\d\\s()+\\-.]+")) {
+            matches.addAll(bookingRepository.searchByGuestPhone(hotelId, GuestSearchNormalizer.likePrefix(digits), page));
+            matches.addAll(bookingRepository.searchByGuestPhoneSuffix(hotelId,
+                    GuestSearchNormalizer.likePrefix(GuestSearchNormalizer.reversedPhoneDigits(digits)), page));
+        } else {
+            String name = GuestSearchNormalizer.name(trimmed);
+            if (name.isEmpty()) {
+                return List.of();
+            }
+            matches.addAll(bookingRepository.searchByGuestName(hotelId, GuestSearchNormalizer.likePrefix(name), page));
+            if (!name.contains(" ")) {
+                matches.addAll(bookingRepository.searchByGuestSurname(hotelId, GuestSearchNormalizer.likePrefix(name), page));
+            }
+        }
+        Set<Long> seen = new HashSet<>();
+        return matches.stream()
+                .filter(row -> seen.add(row.id()))
+                .limit(page.getPageSize())
+                .map(bookingMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     // helper methods
+    // assigns a free room of the requested type and saves the booking under the room lock
+    private Booking reserveRoom(BookingCreateRequest request, UserContext context,
+                                    BookingStatus status, LocalDateTime holdExpiresAt) {
+         // validate dates
+        validateDates(request.getCheckInDate(), request.getCheckOutDate());
+        // find available room of requested type
+        Long assignedRoomId = findAvailableRoomByType(
+                request.getHotelId(),
+                request.getRoomType(),
+                request.getCheckInDate(),
+                request.getCheckOutDate()
+        );
+
+        if (assignedRoomId == null) {
+            throw new BookingException("No rooms of type " + request.getRoomType() + " available for selected dates");
+        }
+
+        // get room details
+        RoomDto room = hotelServiceClient.getRoomById(assignedRoomId);
+        ApiResponse hotelDtoApiResponse=hotelServiceClient.getHotelByIdWrapped(request.getHotelId());
+       HotelDto hotel=(HotelDto) hotelDtoApiResponse.getData();
+        // double-check room belongs to hotel
+        if (!room.getHotelId().equals(request.getHotelId())) {
+            throw new BookingException("Room does not belong to specified hotel");
+        }
+
+        // pessimistic lock check for race conditions
+        log.debug("Acquiring lock and checking for conflicting bookings for room {}", assignedRoomId);
+        List<Booking> conflicts = bookingRepository.findConflictingBookingsWithLock(
+                assignedRoomId,
+                request.getCheckInDate(),
+                request.getCheckOutDate()
+        );
+
+        if (!conflicts.isEmpty()) {
+            log.warn("Room {} was just booked by another user, trying to find another room", assignedRoomId);
+            throw new BookingException("Room was just booked. Please try again.");
+        }
+
+        log.debug("No conflicts found, proceeding with booking creation for room {}", assignedRoomId);
+
+        // calculate total amount
+        int numberOfNights = (int) (request.getCheckOutDate().toEpochDay() - request.getCheckInDate().toEpochDay());
+        float totalAmount = room.getPricePerNight() * numberOfNights;
+
+        // create booking entity
+        Booking booking = Booking.builder()
+                .userId(context.getUserId())
+                .hotelId(request.getHotelId())
+                .roomId(assignedRoomId) // backend assigned room
+                .checkInDate(request.getCheckInDate())
+                .checkOutDate(request.getCheckOutDate())
+                .totalAmount(totalAmount)
+                .paymentStatus(PaymentStatus.PENDING)
+                .status(status)
+                .holdExpiresAt(holdExpiresAt)
+                .guestName(request.getGuestName())
+                .guestEmail(request.getGuestEmail())
+                .guestPhone(request.getGuestPhone())
+                .numberOfGuests(request.getNumberOfGuests())
+                .hotelName(hotel.getName())
+                // snapshot room details so responses never need hotel-service
+                .roomNumber(room.getRoomNumber())
+                .roomType(room.getRoomType())
+                .pricePerNight(room.getPricePerNight())
+                .build();
+
+        booking.setCreatedBy(context.getUsername());
+        Booking savedBooking = bookingRepository.save(booking);
+        publishStateChange(savedBooking, null, null, context.getUsername());
+
+        log.info("Booking created with ID: {} for room {} ({})", savedBooking.getId(), assignedRoomId, status);
+        return savedBooking;
+    }
      //* find an available room of specified type for the date range
     private Long findAvailableRoomByType(Long hotelId, String roomType, LocalDate checkIn, LocalDate checkOut) {
         log.debug("Finding available room of type {} for hotel {}", roomType, hotelId);
@@ -465,9 +691,14 @@ public class BookingServiceImpl implements BookingService {
 
         return availableRoom.orElse(null);
     }
+    // write paths only see the hot table; archived bookings are closed and read-only
     private Booking findBookingById(Long bookingId) {
-        return bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", bookingId));
+        return bookingRepository.findById(bookingId).orElseThrow(() -> {
+            if (archivedBookingRepository.existsById(bookingId)) {
+                return new BookingException("Booking " + bookingId + " is archived and can no longer be changed");
+            }
+            return new ResourceNotFoundException("Booking", "id", bookingId);
+        });
     }
     private void validateDates(LocalDate checkInDate, LocalDate checkOutDate) {
         LocalDate today = LocalDate.now();
@@ -478,37 +709,46 @@ public class BookingServiceImpl implements BookingService {
             throw new BookingException("Check-out date must be after check-in date");
         }
     }
-    private BookingResponse mapToResponse(Booking b, RoomDto room) {
-        return BookingResponse.builder()
-                .id(b.getId())
-                .hotelName(b.getHotelName())
-                .roomNumber(room.getRoomNumber())
-                .roomType(room.getRoomType())
-                .checkInDate(b.getCheckInDate())
-                .checkOutDate(b.getCheckOutDate())
-                .totalAmount(b.getTotalAmount())
-                .status(b.getStatus())
-                .guestName(b.getGuestName())
-                .guestEmail(b.getGuestEmail())
-                .paymentStatus(b.getPaymentStatus() != null ? b.getPaymentStatus().name() : "PENDING")
-                .paymentMethod(b.getPaymentMethod())
-                .paidAt(b.getPaidAt())
-                .guestPhone(b.getGuestPhone())
-                .numberOfGuests(b.getNumberOfGuests())
-                .numberOfNights(b.getNumberOfNights())
-                .build();
+    // any insert or update moves max(updated_at), any delete or archive moves the tombstone id
+    private String toETag(Object... parts) {
+        String joined = Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("|"));
+        return "\"" + DigestUtils.md5DigestAsHex(joined.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new BookingException("Page size must be at least 1");
+        }
+        return Math.min(size, maxPageSize);
     }
 
-    private BookingResponse mapToResponseWithRoom(Booking booking) {
-        try {
-            return mapToResponse(booking,
-                    hotelServiceClient.getRoomById(booking.getRoomId()));
-        } catch (Exception e) {
-            return mapToResponse(booking, new RoomDto());
+    // rows were fetched with one extra to detect a following page without a count query
+    private CursorPage<BookingResponse> toCursorPage(List<BookingListRow> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<BookingListRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            BookingListRow last = page.get(page.size() - 1);
+            nextCursor = new BookingCursor(last.createdAt(), last.id()).encode();
         }
+        return CursorPage.<BookingResponse>builder()
+                .items(page.stream().map(bookingMapper::toResponse).collect(Collectors.toList()))
+                .size(page.size())
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // in-process notification; AFTER_COMMIT listeners only see it if the transaction commits
+    private void publishStateChange(Booking booking, BookingStatus previousStatus,
+                                    PaymentStatus previousPaymentStatus, String actor) {
+        eventPublisher.publishEvent(BookingStateChangedEvent.of(booking, previousStatus, previousPaymentStatus, actor));
     }
 
-    private void publishBookingCreatedEvent(Booking booking, RoomDto room) {
+    private void publishBookingCreatedEvent(Booking booking) {
         BookingCreatedEvent event = BookingCreatedEvent.builder()
                 .bookingId(booking.getId())
                 .userId(booking.getUserId())
@@ -523,7 +763,7 @@ public class BookingServiceImpl implements BookingService {
                 .numberOfGuests(booking.getNumberOfGuests())
                 .createdAt(LocalDateTime.now())
                 .build();
-        kafkaProducerService.publishBookingCreated(event);
+        outboxService.publishBookingCreated(event);
     }
 
     private void publishGuestCheckedInEvent(Booking booking) {
@@ -539,7 +779,7 @@ public class BookingServiceImpl implements BookingService {
                 .checkedInAt(LocalDateTime.now())
                 .roomStatus("OCCUPIED")
                 .build();
-        kafkaProducerService.publishGuestCheckedIn(event);
+        outboxService.publishGuestCheckedIn(event);
     }
 
     private void publishGuestCheckedOutEvent(Booking booking, CheckOutRequest request) {
@@ -557,6 +797,6 @@ public class BookingServiceImpl implements BookingService {
                 .rating(request.getRating())
                 .feedback(request.getFeedback())
                 .build();
-        kafkaProducerService.publishGuestCheckedOut(event);
+        outboxService.publishGuestCheckedOut(event);
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.dto.request.BulkCancelRequest;
+import com.hotel.booking.dto.response.BulkCancellationJobResponse;
+
+public interface BulkCancellationService {
+
+    BulkCancellationJobResponse startHotelCancellation(Long hotelId, BulkCancelRequest request);
+
+    BulkCancellationJobResponse getJob(Long jobId);
+}
@@ -0,0 +1,260 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.dto.request.BulkCancelRequest;
+import com.hotel.booking.dto.response.BulkCancellationJobResponse;
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.BulkCancellationJob;
+import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.enums.BulkJobStatus;
+import com.hotel.booking.event.BookingStateChangedEvent;
+import com.hotel.booking.exception.BookingException;
+import com.hotel.booking.exception.ResourceNotFoundException;
+import com.hotel.booking.exception.UnauthorizedException;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.BulkCancellationJobRepository;
+import com.hotel.booking.scheduler.SchedulerLeaseManager;
+import com.hotel.booking.security.AuthorizationUtil;
+import com.hotel.booking.security.UserContext;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+/**
+ * Cancels every pending or confirmed stay of a hotel that overlaps a closure window.
+ * The request only records a job and returns its id; a background worker then cancels in
+ * id-ordered chunks, each one transaction with a single bulk UPDATE, the job's progress
+ * increment and the chunk's state-change events. Jobs are leased, so one replica runs each,
+ * and unfinished jobs are picked up again on startup and by a periodic sweep, which takes
+ * over jobs whose replica died once their lease has expired.
+ */
+@Slf4j
+@Service
+public class BulkCancellationServiceImpl implements BulkCancellationService {
+
+    private static final List<BookingStatus> CANCELLABLE = List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+    private static final List<BulkJobStatus> UNFINISHED = List.of(BulkJobStatus.QUEUED, BulkJobStatus.RUNNING);
+
+    private final BookingRepository bookingRepository;
+    private final BulkCancellationJobRepository jobRepository;
+    private final AuthorizationUtil authorizationUtil;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SchedulerLeaseManager leaseManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workers;
+    // jobs queued or running on this replica, so the sweep does not queue them twice
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Value("${booking.bulk-cancel.chunk-size:500}")
+    private int chunkSize;
+    @Value("${booking.bulk-cancel.max-days:366}")
+    private long maxDays;
+
+    public BulkCancellationServiceImpl(BookingRepository bookingRepository,
+                                       BulkCancellationJobRepository jobRepository,
+                                       AuthorizationUtil authorizationUtil,
+                                       ApplicationEventPublisher eventPublisher,
+                                       SchedulerLeaseManager leaseManager,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${booking.bulk-cancel.workers:2}") int workerCount) {
+        this.bookingRepository = bookingRepository;
+        this.jobRepository = jobRepository;
+        this.authorizationUtil = authorizationUtil;
+        this.eventPublisher = eventPublisher;
+        this.leaseManager = leaseManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadIds = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount,
+                r -> new Thread(r, "bulk-cancel-" + threadIds.incrementAndGet()));
+    }
+
+    @Override
+    public BulkCancellationJobResponse startHotelCancellation(Long hotelId, BulkCancelRequest request) {
+        UserContext context = authorizationUtil.getUserContext();
+        if (!context.canManageBookings()) {
+            throw new UnauthorizedException("Only staff can cancel a hotel's bookings");
+        }
+        authorizationUtil.verifyHotelAccess(hotelId);
+        if (request.getToDate().isBefore(request.getFromDate())) {
+            throw new BookingException("To date must not be before from date");
+        }
+        if (request.getToDate().isBefore(LocalDate.now())) {
+            throw new BookingException("Closure window is already over");
+        }
+        if (DAYS.between(request.getFromDate(), request.getToDate()) >= maxDays) {
+            throw new BookingException("Closure window cannot exceed " + maxDays + " days");
+        }
+        BulkCancellationJob job = jobRepository.save(BulkCancellationJob.builder()
+                .hotelId(hotelId)
+                .fromDate(request.getFromDate())
+                .toDate(request.getToDate())
+                .reason(request.getReason())
+                .status(BulkJobStatus.QUEUED)
+                .requestedBy(context.getUsername())
+                .createdAt(LocalDateTime.now())
+                .build());
+        log.info("Bulk cancellation job {} queued for hotel {} ({} to {}) by {}",
+                job.getId(), hotelId, request.getFromDate(), request.getToDate(), context.getUsername());
+        submit(job.getId());
+        return toResponse(job);
+    }
+
+    @Override
+    public BulkCancellationJobResponse getJob(Long jobId) {
+        BulkCancellationJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Bulk cancellation job", "id", jobId));
+        if (!authorizationUtil.getUserContext().canManageBookings()) {
+            throw new UnauthorizedException("Only staff can view bulk cancellation jobs");
+        }
+        authorizationUtil.verifyHotelAccess(job.getHotelId());
+        return toResponse(job);
+    }
+
+    // picks up jobs whose replica stopped before finishing them; a job still leased
+    // by a live replica is skipped by runJob, an expired lease is taken over
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${booking.bulk-cancel.resume-ms:60000}",
+            initialDelayString = "${booking.bulk-cancel.resume-ms:60000}")
+    public void resumeUnfinishedJobs() {
+        for (BulkCancellationJob job : jobRepository.findByStatusIn(UNFINISHED)) {
+            submit(job.getId());
+        }
+    }
+
+    private void submit(Long jobId) {
+        if (!inFlight.add(jobId)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    runJob(jobId);
+                } finally {
+                    inFlight.remove(jobId);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(jobId);
+            throw e;
+        }
+    }
+
+    private void runJob(Long jobId) {
+        String lease = "bulk-cancel:" + jobId;
+        if (!leaseManager.tryAcquire(lease)) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            BulkCancellationJob job = jobRepository.findById(jobId).orElse(null);
+            if (job == null || !UNFINISHED.contains(job.getStatus())) {
+                return;
+            }
+            long total = bookingRepository.countStaysInRange(
+                    job.getHotelId(), CANCELLABLE, job.getFromDate(), job.getToDate());
+            transactionTemplate.executeWithoutResult(status -> jobRepository.markRunning(
+                    jobId, BulkJobStatus.RUNNING, job.getCancelledBookings() + total, LocalDateTime.now()));
+
+            long cancelled = 0;
+            long afterId = 0L;
+            while (true) {
+                long cursor = afterId;
+                ChunkResult result = transactionTemplate.execute(status -> cancelChunk(job, cursor));
+                if (result == null || result.scanned() == 0) {
+                    break;
+                }
+                cancelled += result.cancelled();
+                afterId = result.lastId();
+                if (result.scanned() < chunkSize) {
+                    break;
+                }
+                if (!leaseManager.renew(lease)) {
+                    log.warn("Lost lease of bulk cancellation job {} after {} bookings", jobId, cancelled);
+                    return;
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> jobRepository.markFinished(
+                    jobId, BulkJobStatus.COMPLETED, null, LocalDateTime.now()));
+            long elapsed = Math.max(System.currentTimeMillis() - started, 1);
+            log.info("Bulk cancellation job {} cancelled {} bookings of hotel {} in {} ms ({} per second)",
+                    jobId, cancelled, job.getHotelId(), elapsed, cancelled * 1000 / elapsed);
+        } catch (Exception e) {
+            log.error("Bulk cancellation job {} failed: {}", jobId, e.getMessage(), e);
+            String error = e.getMessage() != null && e.getMessage().length() > 500
+                    ? e.getMessage().substring(0, 500) : e.getMessage();
+            transactionTemplate.executeWithoutResult(status -> jobRepository.markFinished(
+                    jobId, BulkJobStatus.FAILED, error, LocalDateTime.now()));
+        } finally {
+            leaseManager.complete(lease);
+        }
+    }
+
+    private ChunkResult cancelChunk(BulkCancellationJob job, long afterId) {
+        List<Booking> stays = bookingRepository.findStaysInRangeForUpdate(job.getHotelId(), CANCELLABLE,
+                job.getFromDate(), job.getToDate(), afterId, PageRequest.of(0, chunkSize));
+        if (stays.isEmpty()) {
+            return new ChunkResult(0, 0, afterId);
+        }
+        List<Long> ids = stays.stream().map(Booking::getId).toList();
+        String actor = job.getRequestedBy() != null ? job.getRequestedBy() : "system";
+        int count = bookingRepository.cancelInBulk(ids, CANCELLABLE, BookingStatus.CANCELLED,
+                LocalDate.now(), LocalDateTime.now(), actor);
+        for (Booking booking : stays) {
+            // the bulk update bypassed the loaded entities, so they still hold the old status
+            BookingStateChangedEvent event = BookingStateChangedEvent.of(booking, booking.getStatus(),
+                    booking.getPaymentStatus(), actor);
+            event.setNewStatus(BookingStatus.CANCELLED);
+            eventPublisher.publishEvent(event);
+        }
+        jobRepository.addCancelled(job.getId(), count);
+        return new ChunkResult(stays.size(), count, ids.get(ids.size() - 1));
+    }
+
+    private BulkCancellationJobResponse toResponse(BulkCancellationJob job) {
+        int percent = job.getStatus() == BulkJobStatus.COMPLETED ? 100
+                : job.getTotalBookings() > 0
+                ? (int) Math.min(99, job.getCancelledBookings() * 100 / job.getTotalBookings()) : 0;
+        return BulkCancellationJobResponse.builder()
+                .jobId(job.getId())
+                .hotelId(job.getHotelId())
+                .fromDate(job.getFromDate())
+                .toDate(job.getToDate())
+                .reason(job.getReason())
+                .status(job.getStatus())
+                .totalBookings(job.getTotalBookings())
+                .cancelledBookings(job.getCancelledBookings())
+                .progressPercent(percent)
+                .requestedBy(job.getRequestedBy())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private record ChunkResult(int scanned, int cancelled, long lastId) {
+    }
+}
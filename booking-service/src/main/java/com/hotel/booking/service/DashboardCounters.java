@@ -0,0 +1,202 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.enums.PaymentStatus;
+import com.hotel.booking.event.BookingStateChangedEvent;
+import com.hotel.booking.repository.ArchivedBookingRepository;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.DashboardCounterRepository;
+import com.hotel.booking.repository.projection.DashboardTotals;
+import com.hotel.booking.scheduler.SchedulerLeaseManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Running totals behind the admin dashboard (hot and archived bookings together), so a
+ * dashboard read sums a few counter rows instead of scanning the bookings tables.
+ * Each transaction folds the deltas of its booking transitions into one relative update
+ * of a random stripe right before it commits, so the counters move atomically with the
+ * bookings and concurrent writers rarely queue on the same row.
+ * A periodic reconciliation compares them with a full scan and corrects any drift.
+ */
+@Slf4j
+@Component
+public class DashboardCounters extends BeforeCommitBatcher<BookingStateChangedEvent> {
+
+    static final int STRIPES = 16;
+
+    private final DashboardCounterRepository counterRepository;
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final SchedulerLeaseManager leaseManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final Counter driftCorrections;
+
+    public DashboardCounters(DashboardCounterRepository counterRepository,
+                             BookingRepository bookingRepository,
+                             ArchivedBookingRepository archivedBookingRepository,
+                             SchedulerLeaseManager leaseManager,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.counterRepository = counterRepository;
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.leaseManager = leaseManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        // REPEATABLE READ: counters and bookings are read from the same snapshot
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.driftCorrections = Counter.builder("booking.dashboard.reconcile.corrections").register(meterRegistry);
+    }
+
+    @EventListener
+    public void onBookingStateChanged(BookingStateChangedEvent event) {
+        add(event);
+    }
+
+    @Override
+    protected void flushBatch(List<BookingStateChangedEvent> events) {
+        Delta total = Delta.ZERO;
+        for (BookingStateChangedEvent event : events) {
+            total = total.plus(Delta.between(event));
+        }
+        apply(total);
+    }
+
+    // joins the caller's transaction; also used by writers that publish no events, such as the import
+    public void apply(Delta delta) {
+        if (delta.isZero()) {
+            return;
+        }
+        counterRepository.add(ThreadLocalRandom.current().nextInt(STRIPES), delta.bookings(), delta.revenue(),
+                delta.active(), delta.completed(), delta.cancelled(), delta.pendingPayments(), LocalDateTime.now());
+    }
+
+    // active, completed, cancelled, revenue and pending payments; today's figures are left at 0
+    public DashboardTotals getTotals() {
+        return counterRepository.getTotals();
+    }
+
+    // a fresh table starts at zero and is filled by the first reconciliation
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Integer created = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                count += counterRepository.createIfMissing(stripe);
+            }
+            return count;
+        });
+        if (created != null && created > 0) {
+            log.info("Created {} dashboard counter stripes, reconciling", created);
+            reconcile();
+        }
+    }
+
+    @Scheduled(cron = "${booking.dashboard.reconcile-cron:0 20 * * * *}")
+    public void reconcileOnSchedule() {
+        String lease = "dashboard-reconcile:" + LocalDateTime.now().withSecond(0).withNano(0);
+        if (!leaseManager.tryAcquire(lease)) {
+            return;
+        }
+        reconcile();
+        leaseManager.complete(lease);
+    }
+
+    /**
+     * Counters and bookings are read in one consistent snapshot, so the difference between
+     * them is exactly the drift at that point. It is added as a relative correction, which
+     * leaves the deltas of transactions committing meanwhile intact and needs no locks.
+     */
+    public void reconcile() {
+        Delta correction = snapshotTransaction.execute(status -> {
+            DashboardTotals counted = counterRepository.getTotals();
+            Delta actual = Delta.of(bookingRepository.getDashboardTotals(LocalDate.now()))
+                    .plus(Delta.of(archivedBookingRepository.getDashboardTotals()));
+            Delta drift = actual.minus(Delta.of(counted));
+            apply(drift);
+            return drift;
+        });
+        if (correction != null && !correction.isZero()) {
+            driftCorrections.increment();
+            log.warn("Dashboard counters drifted, corrected by {}", correction);
+        }
+    }
+
+    /**
+     * What a booking contributes to the dashboard, or a change of that contribution.
+     * Revenue differences below a cent are float noise and count as zero.
+     */
+    public record Delta(long bookings, double revenue, long active, long completed, long cancelled,
+                        long pendingPayments) {
+
+        public static final Delta ZERO = new Delta(0, 0, 0, 0, 0, 0);
+
+        // same filters as BookingRepository.getDashboardTotals
+        public static Delta of(BookingStatus status, PaymentStatus paymentStatus, double amount) {
+            if (status == null) {
+                return ZERO;
+            }
+            boolean counted = status != BookingStatus.CANCELLED;
+            return new Delta(
+                    counted ? 1 : 0,
+                    counted ? amount : 0,
+                    status == BookingStatus.CONFIRMED || status == BookingStatus.CHECKED_IN ? 1 : 0,
+                    status == BookingStatus.CHECKED_OUT ? 1 : 0,
+                    status == BookingStatus.CANCELLED ? 1 : 0,
+                    counted && paymentStatus == PaymentStatus.PENDING ? 1 : 0);
+        }
+
+        // a new booking has no previous status and contributes in full
+        public static Delta between(BookingStateChangedEvent event) {
+            double amount = event.getTotalAmount() != null ? event.getTotalAmount() : 0;
+            return of(event.getNewStatus(), event.getNewPaymentStatus(), amount)
+                    .minus(of(event.getPreviousStatus(), event.getPreviousPaymentStatus(), amount));
+        }
+
+        static Delta of(DashboardTotals totals) {
+            return new Delta(longValue(totals.bookings()), doubleValue(totals.revenue()),
+                    longValue(totals.active()), longValue(totals.completed()), longValue(totals.cancelled()),
+                    longValue(totals.pendingPayments()));
+        }
+
+        public Delta plus(Delta other) {
+            return new Delta(bookings + other.bookings, revenue + other.revenue, active + other.active,
+                    completed + other.completed, cancelled + other.cancelled,
+                    pendingPayments + other.pendingPayments);
+        }
+
+        public Delta minus(Delta other) {
+            return new Delta(bookings - other.bookings, revenue - other.revenue, active - other.active,
+                    completed - other.completed, cancelled - other.cancelled,
+                    pendingPayments - other.pendingPayments);
+        }
+
+        public boolean isZero() {
+            return bookings == 0 && Math.abs(revenue) < 0.01 && active == 0 && completed == 0
+                    && cancelled == 0 && pendingPayments == 0;
+        }
+
+        private static long longValue(Number value) {
+            return value != null ? value.longValue() : 0L;
+        }
+
+        private static double doubleValue(Number value) {
+            return value != null ? value.doubleValue() : 0.0;
+        }
+    }
+}
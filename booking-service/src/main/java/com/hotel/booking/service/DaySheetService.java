@@ -0,0 +1,164 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.dto.response.BookingResponse;
+import com.hotel.booking.dto.response.DaySheetResponse;
+import com.hotel.booking.dto.response.DaySheetUpdate;
+import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.event.BookingStateChangedEvent;
+import com.hotel.booking.exception.BookingException;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.projection.BookingListRow;
+import com.hotel.booking.security.AuthorizationUtil;
+import com.hotel.booking.sse.SseEmitterRegistry;
+import com.hotel.booking.sse.SseEmitterRegistry.Subscriber;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Front-desk day sheet: arrivals, departures and in-house guests from a single query,
+ * plus an SSE channel that pushes the changed rows after check-in, check-out or cancellation.
+ * Changes are batched per hotel and their rows loaded with one query per flush.
+ */
+@Slf4j
+@Service
+public class DaySheetService {
+
+    private static final String EVENT_NAME = "booking";
+    private static final List<BookingStatus> SHEET_STATUSES =
+            List.of(BookingStatus.CONFIRMED, BookingStatus.CHECKED_IN, BookingStatus.CHECKED_OUT);
+
+    private final BookingRepository bookingRepository;
+    private final AuthorizationUtil authorizationUtil;
+    private final BookingMapper bookingMapper;
+    // subscription value is the sheet date being watched
+    private final SseEmitterRegistry<Long, LocalDate> registry;
+    // hotel -> bookings changed since the last flush
+    private final ConcurrentMap<Long, Set<Long>> changedBookings = new ConcurrentHashMap<>();
+
+    public DaySheetService(BookingRepository bookingRepository,
+                           AuthorizationUtil authorizationUtil,
+                           BookingMapper bookingMapper,
+                           @Value("${booking.sse.timeout-ms:1800000}") long timeoutMs,
+                           @Value("${booking.sse.max-subscribers:5000}") int maxSubscribers) {
+        this.bookingRepository = bookingRepository;
+        this.authorizationUtil = authorizationUtil;
+        this.bookingMapper = bookingMapper;
+        this.registry = new SseEmitterRegistry<>(timeoutMs, maxSubscribers);
+    }
+
+    @Transactional(readOnly = true)
+    public DaySheetResponse getDaySheet(Long hotelId, LocalDate date) {
+        authorizationUtil.verifyHotelAccess(hotelId);
+        LocalDate day = date != null ? date : LocalDate.now();
+        List<BookingListRow> rows = bookingRepository.findDaySheet(
+                hotelId, day, SHEET_STATUSES, BookingStatus.CHECKED_IN);
+
+        List<BookingResponse> arrivals = new ArrayList<>();
+        List<BookingResponse> departures = new ArrayList<>();
+        List<BookingResponse> inHouse = new ArrayList<>();
+        for (BookingListRow row : rows) {
+            BookingResponse response = bookingMapper.toResponse(row);
+            if (isArrival(row, day)) {
+                arrivals.add(response);
+            }
+            if (isDeparture(row, day)) {
+                departures.add(response);
+            }
+            if (row.status() == BookingStatus.CHECKED_IN) {
+                inHouse.add(response);
+            }
+        }
+        return DaySheetResponse.builder()
+                .hotelId(hotelId)
+                .date(day)
+                .arrivals(arrivals)
+                .departures(departures)
+                .inHouse(inHouse)
+                .build();
+    }
+
+    public SseEmitter subscribe(Long hotelId, LocalDate date) {
+        authorizationUtil.verifyHotelAccess(hotelId);
+        Subscriber<LocalDate> subscriber = registry.register(hotelId, date != null ? date : LocalDate.now());
+        if (subscriber == null) {
+            throw new BookingException("Too many live day sheet subscribers, please retry later");
+        }
+        return subscriber.emitter();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBookingStateChanged(BookingStateChangedEvent event) {
+        if (!event.isStatusChange() || !registry.hasSubscribers(event.getHotelId())) {
+            return;
+        }
+        changedBookings.computeIfAbsent(event.getHotelId(), id -> ConcurrentHashMap.newKeySet())
+                .add(event.getBookingId());
+    }
+
+    @Scheduled(fixedDelayString = "${booking.sse.day-sheet.flush-ms:500}")
+    public void flush() {
+        for (Long hotelId : changedBookings.keySet()) {
+            Set<Long> bookingIds = changedBookings.remove(hotelId);
+            if (bookingIds == null || bookingIds.isEmpty()) {
+                continue;
+            }
+            try {
+                List<BookingListRow> rows = bookingRepository.findRowsByIds(bookingIds);
+                for (Subscriber<LocalDate> subscriber : registry.subscribers(hotelId)) {
+                    LocalDate day = subscriber.subscription();
+                    for (BookingListRow row : rows) {
+                        if (touchesDay(row, day)) {
+                            registry.send(hotelId, subscriber, EVENT_NAME, toUpdate(row, day));
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("Could not push day sheet updates for hotel {}: {}", hotelId, e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.sse.heartbeat-ms:20000}")
+    public void heartbeat() {
+        registry.heartbeat();
+    }
+
+    private DaySheetUpdate toUpdate(BookingListRow row, LocalDate day) {
+        // a cancelled booking comes through with every flag false so screens drop the row
+        return DaySheetUpdate.builder()
+                .booking(bookingMapper.toResponse(row))
+                .arrival(isArrival(row, day))
+                .departure(isDeparture(row, day))
+                .inHouse(row.status() == BookingStatus.CHECKED_IN)
+                .build();
+    }
+
+    private boolean isArrival(BookingListRow row, LocalDate day) {
+        return row.checkInDate().equals(day)
+                && (row.status() == BookingStatus.CONFIRMED || row.status() == BookingStatus.CHECKED_IN);
+    }
+
+    // due out today, already left today, or still here past the checkout date
+    private boolean isDeparture(BookingListRow row, LocalDate day) {
+        if (row.status() == BookingStatus.CHECKED_IN) {
+            return !row.checkOutDate().isAfter(day);
+        }
+        return row.status() == BookingStatus.CHECKED_OUT && row.checkOutDate().equals(day);
+    }
+
+    private boolean touchesDay(BookingListRow row, LocalDate day) {
+        return (!row.checkInDate().isAfter(day) && !row.checkOutDate().isBefore(day))
+                || row.status() == BookingStatus.CHECKED_IN;
+    }
+}
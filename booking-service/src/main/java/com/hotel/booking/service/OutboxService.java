@@ -0,0 +1,69 @@
+package com.hotel.booking.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.booking.entity.OutboxEvent;
+import com.hotel.booking.event.BookingCreatedEvent;
+import com.hotel.booking.event.GuestCheckedInEvent;
+import com.hotel.booking.event.GuestCheckedOutEvent;
+import com.hotel.booking.exception.BookingException;
+import com.hotel.booking.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Transactional outbox for booking events.
+ * Events are stored in the caller's transaction, so a rolled back booking never emits
+ * an event and the request thread never waits on Kafka. OutboxRelayScheduler publishes them.
+ * MANDATORY sits on the class so every public entry point is checked by the proxy;
+ * publishing outside a transaction fails instead of writing the row in autocommit.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    @Value("${kafka.topics.booking-created}")
+    private String bookingCreatedTopic;
+    @Value("${kafka.topics.guest-checked-in}")
+    private String guestCheckedInTopic;
+    @Value("${kafka.topics.guest-checked-out}")
+    private String guestCheckedOutTopic;
+
+    public void publishBookingCreated(BookingCreatedEvent event) {
+        enqueue(bookingCreatedTopic, event.getBookingId(), event);
+    }
+
+    public void publishGuestCheckedIn(GuestCheckedInEvent event) {
+        enqueue(guestCheckedInTopic, event.getBookingId(), event);
+    }
+
+    public void publishGuestCheckedOut(GuestCheckedOutEvent event) {
+        enqueue(guestCheckedOutTopic, event.getBookingId(), event);
+    }
+
+    public void enqueue(String topic, Long bookingId, Object event) {
+        OutboxEvent outboxEvent = OutboxEvent.builder()
+                .topic(topic)
+                .messageKey(bookingId.toString())
+                .payload(toJson(event))
+                .build();
+        outboxEventRepository.save(outboxEvent);
+        log.debug("Queued {} event for booking {} in outbox", topic, bookingId);
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new BookingException("Failed to serialize event " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.entity.RevenueRollup;
+import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.event.BookingStateChangedEvent;
+import com.hotel.booking.repository.ArchivedBookingRepository;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.RevenueRollupRepository;
+import com.hotel.booking.repository.projection.BookingDateBounds;
+import com.hotel.booking.repository.projection.RevenueDayTotal;
+import com.hotel.booking.scheduler.SchedulerLeaseManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps revenue_rollups in step with bookings. A booking counts towards the day it was made
+ * and towards its check-in day from creation until it is cancelled, so only those two
+ * transitions change a rollup. The changes of a transaction are summed per (hotel, day)
+ * and written as relative upserts right before it commits.
+ * The nightly reconciliation doubles as the backfill: it compares each range of days with
+ * the bookings and the archive in one snapshot and adds the difference.
+ */
+@Slf4j
+@Component
+public class RevenueRollupProjector extends BeforeCommitBatcher<BookingStateChangedEvent> {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO revenue_rollups
+                (hotel_id, rollup_date, booked_count, booked_revenue, arrival_count, arrival_revenue)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                booked_count = booked_count + VALUES(booked_count),
+                booked_revenue = booked_revenue + VALUES(booked_revenue),
+                arrival_count = arrival_count + VALUES(arrival_count),
+                arrival_revenue = arrival_revenue + VALUES(arrival_revenue)
+            """;
+    private static final int[] ARG_TYPES = {
+            Types.BIGINT, Types.DATE, Types.BIGINT, Types.DOUBLE, Types.BIGINT, Types.DOUBLE
+    };
+    // the startup backfill runs once, separately from the nightly reconciliation's per-day leases
+    private static final String BACKFILL_LEASE = "revenue-rollup-backfill";
+
+    private final RevenueRollupRepository rollupRepository;
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final SchedulerLeaseManager leaseManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final Counter correctedRows;
+
+    @Value("${booking.revenue-rollup.reconcile-chunk-days:31}")
+    private int chunkDays;
+
+    public RevenueRollupProjector(RevenueRollupRepository rollupRepository,
+                                  BookingRepository bookingRepository,
+                                  ArchivedBookingRepository archivedBookingRepository,
+                                  SchedulerLeaseManager leaseManager,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this.rollupRepository = rollupRepository;
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.leaseManager = leaseManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        // REPEATABLE READ: rollups and bookings are read from the same snapshot
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.correctedRows = Counter.builder("booking.revenue-rollup.reconcile.corrections").register(meterRegistry);
+    }
+
+    @EventListener
+    public void onBookingStateChanged(BookingStateChangedEvent event) {
+        if (counts(event.getPreviousStatus()) != counts(event.getNewStatus())) {
+            add(event);
+        }
+    }
+
+    @Override
+    protected void flushBatch(List<BookingStateChangedEvent> events) {
+        Changes changes = new Changes();
+        for (BookingStateChangedEvent event : events) {
+            int sign = counts(event.getNewStatus()) ? 1 : -1;
+            changes.addBooking(event.getHotelId(), event.getCreatedAt(), event.getCheckInDate(),
+                    sign, event.getTotalAmount() != null ? event.getTotalAmount() : 0);
+        }
+        apply(changes);
+    }
+
+    // joins the caller's transaction; also used by writers that publish no events, such as the import
+    public void apply(Changes changes) {
+        List<Object[]> rows = new ArrayList<>();
+        changes.byKey.forEach((key, change) -> {
+            if (!change.isZero()) {
+                rows.add(new Object[]{key.getHotelId(), key.getRollupDate(), change.bookedCount, change.bookedRevenue,
+                        change.arrivalCount, change.arrivalRevenue});
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows, ARG_TYPES);
+        }
+    }
+
+    // first start after the table was added: fill it right away instead of waiting for the night
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (rollupRepository.count() == 0) {
+            reconcileAll(BACKFILL_LEASE, nightlyLease());
+        }
+    }
+
+    @Scheduled(cron = "${booking.revenue-rollup.reconcile-cron:0 30 3 * * *}")
+    public void reconcileOnSchedule() {
+        reconcileAll(nightlyLease(), BACKFILL_LEASE);
+    }
+
+    private static String nightlyLease() {
+        return "revenue-rollup-reconcile:" + LocalDate.now();
+    }
+
+    // both passes add relative corrections, so they must not overlap: each takes its own lease
+    // and then stands down while the other one is still held
+    private void reconcileAll(String lease, String otherLease) {
+        if (!leaseManager.tryAcquire(lease)) {
+            return;
+        }
+        if (leaseManager.isHeld(otherLease)) {
+            log.info("Skipping revenue rollup pass {}, {} is still running", lease, otherLease);
+            leaseManager.complete(lease);
+            return;
+        }
+        BookingDateBounds hot = bookingRepository.getDateBounds();
+        BookingDateBounds archived = archivedBookingRepository.getDateBounds();
+        LocalDate first = Stream.of(
+                        hot.firstCreatedAt() != null ? hot.firstCreatedAt().toLocalDate() : null, hot.firstCheckIn(),
+                        archived.firstCreatedAt() != null ? archived.firstCreatedAt().toLocalDate() : null,
+                        archived.firstCheckIn())
+                .filter(date -> date != null)
+                .min(LocalDate::compareTo)
+                .orElse(null);
+        if (first != null) {
+            LocalDate last = Stream.of(LocalDate.now(), hot.lastCheckIn(), archived.lastCheckIn())
+                    .filter(date -> date != null)
+                    .max(LocalDate::compareTo)
+                    .orElseThrow();
+            // a taken-over run continues with the first chunk its previous holder did not finish
+            String checkpoint = leaseManager.checkpoint(lease);
+            LocalDate start = checkpoint != null ? LocalDate.parse(checkpoint) : first;
+            int corrected = 0;
+            for (LocalDate from = start; !from.isAfter(last); from = from.plusDays(chunkDays)) {
+                LocalDate to = from.plusDays(chunkDays - 1).isAfter(last) ? last : from.plusDays(chunkDays - 1);
+                corrected += reconcile(from, to);
+                if (!leaseManager.renew(lease, from.plusDays(chunkDays).toString())) {
+                    break;
+                }
+            }
+            if (corrected > 0) {
+                log.info("Revenue rollups reconciled from {} to {}: {} rows corrected", first, last, corrected);
+            }
+        }
+        leaseManager.complete(lease);
+    }
+
+    // returns how many (hotel, day) rows had to be corrected
+    private int reconcile(LocalDate from, LocalDate to) {
+        Integer corrected = snapshotTransaction.execute(status -> {
+            Changes drift = new Changes();
+            for (RevenueRollup rollup : rollupRepository.findByRollupDateBetween(from, to)) {
+                Change change = drift.change(rollup.getHotelId(), rollup.getRollupDate());
+                change.bookedCount -= rollup.getBookedCount();
+                change.bookedRevenue -= rollup.getBookedRevenue();
+                change.arrivalCount -= rollup.getArrivalCount();
+                change.arrivalRevenue -= rollup.getArrivalRevenue();
+            }
+            LocalDateTime start = from.atStartOfDay();
+            LocalDateTime end = to.plusDays(1).atStartOfDay();
+            addBooked(drift, bookingRepository.getBookedTotals(start, end));
+            addBooked(drift, archivedBookingRepository.getBookedTotals(start, end));
+            addArrivals(drift, bookingRepository.getArrivalTotals(from, to));
+            addArrivals(drift, archivedBookingRepository.getArrivalTotals(from, to));
+            apply(drift);
+            return (int) drift.byKey.values().stream().filter(change -> !change.isZero()).count();
+        });
+        if (corrected != null && corrected > 0) {
+            correctedRows.increment(corrected);
+        }
+        return corrected != null ? corrected : 0;
+    }
+
+    private void addBooked(Changes drift, List<RevenueDayTotal> totals) {
+        for (RevenueDayTotal total : totals) {
+            Change change = drift.change(total.hotelId(), total.day());
+            change.bookedCount += total.bookings().longValue();
+            change.bookedRevenue += total.revenue().doubleValue();
+        }
+    }
+
+    private void addArrivals(Changes drift, List<RevenueDayTotal> totals) {
+        for (RevenueDayTotal total : totals) {
+            Change change = drift.change(total.hotelId(), total.day());
+            change.arrivalCount += total.bookings().longValue();
+            change.arrivalRevenue += total.revenue().doubleValue();
+        }
+    }
+
+    // same filter as the rollup source queries
+    private static boolean counts(BookingStatus status) {
+        return status != null && status != BookingStatus.CANCELLED;
+    }
+
+    /**
+     * Pending rollup changes per (hotel, day). Kept sorted so that every writer upserts
+     * rows in the same order and concurrent transactions cannot deadlock on them.
+     */
+    public static final class Changes {
+
+        private final Map<RevenueRollup.Key, Change> byKey = new TreeMap<>();
+
+        public void addBooking(Long hotelId, LocalDateTime createdAt, LocalDate checkInDate, int sign, double amount) {
+            if (createdAt != null) {
+                Change booked = change(hotelId, createdAt.toLocalDate());
+                booked.bookedCount += sign;
+                booked.bookedRevenue += sign * amount;
+            }
+            Change arrival = change(hotelId, checkInDate);
+            arrival.arrivalCount += sign;
+            arrival.arrivalRevenue += sign * amount;
+        }
+
+        private Change change(Long hotelId, LocalDate day) {
+            return byKey.computeIfAbsent(new RevenueRollup.Key(hotelId, day), key -> new Change());
+        }
+    }
+
+    private static final class Change {
+        private long bookedCount;
+        private double bookedRevenue;
+        private long arrivalCount;
+        private double arrivalRevenue;
+
+        // revenue differences below a cent are float noise
+        boolean isZero() {
+            return bookedCount == 0 && arrivalCount == 0
+                    && Math.abs(bookedRevenue) < 0.01 && Math.abs(arrivalRevenue) < 0.01;
+        }
+    }
+}
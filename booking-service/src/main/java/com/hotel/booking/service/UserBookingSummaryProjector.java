@@ -0,0 +1,74 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.event.BookingStateChangedEvent;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.UserBookingSummaryRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Keeps user_booking_summaries in step with bookings. Every booking touched in a
+ * transaction is re-copied from the bookings table with one upsert right before commit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserBookingSummaryProjector extends BeforeCommitBatcher<Long> {
+
+    private final UserBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${booking.backfill.user-summary.chunk-size:5000}")
+    private int backfillChunkSize;
+
+    @EventListener
+    public void onBookingStateChanged(BookingStateChangedEvent event) {
+        add(event.getBookingId());
+    }
+
+    @Override
+    protected void flushBatch(List<Long> bookingIds) {
+        // pending entity changes must reach the bookings table before it is copied
+        entityManager.flush();
+        summaryRepository.upsertFromBookings(new LinkedHashSet<>(bookingIds));
+    }
+
+    // creates summary rows for bookings written before the read model existed; a no-op once it is complete
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Long firstMissingId = summaryRepository.findFirstMissingBookingId();
+        if (firstMissingId == null) {
+            return;
+        }
+        Long maxId = bookingRepository.findMaxId();
+        int inserted = backfill(firstMissingId, maxId);
+        if (inserted > 0) {
+            log.info("Backfilled user booking summaries from booking {} ({} rows affected)", firstMissingId, inserted);
+        }
+    }
+
+    // summary rows for bookings in [firstId, lastId] that have none yet, or an incomplete one; one transaction per chunk
+    public int backfill(long firstId, long lastId) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int inserted = 0;
+        for (long fromId = firstId; fromId <= lastId; fromId += backfillChunkSize) {
+            long toId = Math.min(fromId + backfillChunkSize - 1, lastId);
+            final long from = fromId;
+            Integer count = transactionTemplate.execute(status -> summaryRepository.insertMissing(from, toId));
+            inserted += count != null ? count : 0;
+        }
+        return inserted;
+    }
+}
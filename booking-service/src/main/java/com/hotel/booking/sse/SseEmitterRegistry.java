@@ -0,0 +1,100 @@
+package com.hotel.booking.sse;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Open SSE connections grouped by a topic key (e.g. hotel id), each carrying the
+ * subscriber's own filter S. Dead connections are dropped on the first failed send
+ * or when the container reports completion, timeout or error.
+ */
+@Slf4j
+public class SseEmitterRegistry<K, S> {
+
+    public record Subscriber<S>(SseEmitter emitter, S subscription) {
+    }
+
+    private final ConcurrentMap<K, Set<Subscriber<S>>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger count = new AtomicInteger();
+    private final long timeoutMs;
+    private final int maxSubscribers;
+
+    public SseEmitterRegistry(long timeoutMs, int maxSubscribers) {
+        this.timeoutMs = timeoutMs;
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    // null when this node already serves maxSubscribers connections
+    public Subscriber<S> register(K key, S subscription) {
+        if (count.incrementAndGet() > maxSubscribers) {
+            count.decrementAndGet();
+            return null;
+        }
+        Subscriber<S> subscriber = new Subscriber<>(new SseEmitter(timeoutMs), subscription);
+        subscribers.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        Runnable remove = () -> remove(key, subscriber);
+        subscriber.emitter().onCompletion(remove);
+        subscriber.emitter().onTimeout(remove);
+        subscriber.emitter().onError(e -> remove.run());
+        return subscriber;
+    }
+
+    public Collection<Subscriber<S>> subscribers(K key) {
+        Set<Subscriber<S>> set = subscribers.get(key);
+        return set == null ? List.of() : set;
+    }
+
+    public boolean hasSubscribers(K key) {
+        Set<Subscriber<S>> set = subscribers.get(key);
+        return set != null && !set.isEmpty();
+    }
+
+    public boolean send(K key, Subscriber<S> subscriber, String eventName, Object data) {
+        try {
+            subscriber.emitter().send(SseEmitter.event().name(eventName).data(data));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping SSE subscriber on {}: {}", key, e.getMessage());
+            fail(key, subscriber, e);
+            return false;
+        }
+    }
+
+    // comment line keeps idle connections open through proxies and flushes out dead ones
+    public void heartbeat() {
+        subscribers.forEach((key, set) -> set.forEach(subscriber -> {
+            try {
+                subscriber.emitter().send(SseEmitter.event().comment("ping"));
+            } catch (IOException | IllegalStateException e) {
+                fail(key, subscriber, e);
+            }
+        }));
+    }
+
+    // frees the slot right away; the container callbacks never fire for an emitter it was not handed
+    public void fail(K key, Subscriber<S> subscriber, Throwable cause) {
+        remove(key, subscriber);
+        subscriber.emitter().completeWithError(cause);
+    }
+
+    public int size() {
+        return count.get();
+    }
+
+    private void remove(K key, Subscriber<S> subscriber) {
+        subscribers.computeIfPresent(key, (k, set) -> {
+            if (set.remove(subscriber)) {
+                count.decrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package com.hotel.booking.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normal forms for guest search keys. The same functions are applied when a booking
+ * is written and when a receptionist types a query, so an indexed prefix match
+ * (LIKE 'x%') finds "José  Álvarez" from "jose alv" or "alvarez".
+ */
+public final class GuestSearchNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9@._+\\- ]");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D");
+
+    private GuestSearchNormalizer() {
+    }
+
+    // lowercase, accents stripped, punctuation dropped, whitespace collapsed
+    public static String name(String value) {
+        if (value == null) {
+            return null;
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        folded = NON_ALNUM.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ");
+        return SPACES.matcher(folded).replaceAll(" ").trim();
+    }
+
+    // last word of the normalized name, so "alvarez" matches without the first name
+    public static String surname(String value) {
+        String name = name(value);
+        if (name == null || name.isEmpty()) {
+            return name;
+        }
+        return name.substring(name.lastIndexOf(' ') + 1);
+    }
+
+    public static String email(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static String phoneDigits(String value) {
+        return value == null ? null : NON_DIGITS.matcher(value).replaceAll("");
+    }
+
+    // reversed digits turn "ends with 4321" into an indexable prefix match
+    public static String reversedPhoneDigits(String value) {
+        String digits = phoneDigits(value);
+        return digits == null ? null : new StringBuilder(digits).reverse().toString();
+    }
+
+    // escapes LIKE wildcards in user input before appending '%'
+    public static String likePrefix(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
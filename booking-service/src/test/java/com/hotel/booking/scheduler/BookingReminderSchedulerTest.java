@@ -0,0 +1,250 @@
+package com.hotel.booking.scheduler;
+
+import com.hotel.booking.client.HotelServiceClient;
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.event.CheckInReminderEvent;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.RateLimitBucketRepository;
+import com.hotel.booking.repository.projection.PendingReminderDay;
+import com.hotel.booking.repository.projection.ReminderRow;
+import com.hotel.booking.scheduler.HotelReminderWindows.ReminderWindow;
+import com.hotel.booking.service.KafkaProducerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// the plan is rebuilt on every tick, so the background scheduler picks up bookings created by a test
+@SpringBootTest(properties = "booking.reminder.plan-refresh-ms=0")
+@ActiveProfiles("test")
+public class BookingReminderSchedulerTest {
+
+    private static final Long hotel_id = 990_041L;
+    private static final long claim_timeout = 300;
+    private static final String unreachable_email = "unreachable@test.com";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private KafkaProducerService kafkaProducerService;
+
+    @MockBean
+    private HotelReminderWindows reminderWindows;
+
+    private TransactionTemplate claimTransaction;
+
+    @BeforeEach
+    void setup() {
+        cleanup();
+        claimTransaction = new TransactionTemplate(transactionManager);
+        claimTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        // send window open all day, in the zone the plan computes "tomorrow" in
+        when(reminderWindows.forHotel(anyLong()))
+                .thenReturn(new ReminderWindow(ZoneId.systemDefault(), LocalTime.MIN, LocalTime.MAX));
+        when(kafkaProducerService.publishCheckInReminder(any()))
+                .thenReturn(CompletableFuture.<SendResult<String, Object>>completedFuture(null));
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM bookings WHERE hotel_id = ?", hotel_id);
+    }
+
+    @Test
+    void testClaim_concurrentClaimsSkipLockedRows() throws Exception {
+        // far enough ahead that the background scheduler never plans it
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+        Long first = confirmedBooking(checkIn).getId();
+        Long second = confirmedBooking(checkIn).getId();
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<Long>> holder = executor.submit(() -> claimTransaction.execute(status -> {
+                List<Long> ids = bookingRepository.lockDueReminders(checkIn, List.of(hotel_id), claim_timeout, 1);
+                locked.countDown();
+                await(release);
+                return ids;
+            }));
+            assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+            List<Long> other = claimTransaction.execute(status ->
+                    bookingRepository.lockDueReminders(checkIn, List.of(hotel_id), claim_timeout, 10));
+            release.countDown();
+
+            assertEquals(List.of(first), holder.get(10, TimeUnit.SECONDS));
+            assertEquals(List.of(second), other);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testClaim_claimedRowsWaitForTheTimeout() {
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+        Long id = confirmedBooking(checkIn).getId();
+
+        assertEquals(List.of(id), claim(checkIn));
+        // claimed but neither sent nor released: another replica is still sending it
+        assertEquals(List.of(), claim(checkIn));
+
+        // the claiming replica died mid-send
+        jdbcTemplate.update("UPDATE bookings SET reminder_claimed_at = TIMESTAMPADD(SECOND, ?, NOW(6)) WHERE id = ?",
+                -(claim_timeout + 1), id);
+        assertEquals(List.of(id), claim(checkIn));
+
+        claimTransaction.executeWithoutResult(status -> bookingRepository.releaseReminderClaim(List.of(id)));
+        assertEquals(List.of(id), claim(checkIn));
+
+        claimTransaction.executeWithoutResult(status ->
+                bookingRepository.markReminderSent(List.of(id), LocalDateTime.now()));
+        assertEquals(List.of(), claim(checkIn));
+    }
+
+    @Test
+    void testPublish_failedSendReleasesTheClaim() {
+        // stubbed before the bookings exist, the background scheduler may pick them up right away
+        when(kafkaProducerService.publishCheckInReminder(
+                argThat(event -> event != null && unreachable_email.equals(event.getGuestEmail()))))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        Long delivered = confirmedBooking(tomorrow).getId();
+        Long failing = confirmedBooking(tomorrow, unreachable_email).getId();
+
+        // a second attempt within the claim timeout means the failed send gave its claim back
+        verify(kafkaProducerService, timeout(20_000).atLeast(2))
+                .publishCheckInReminder(argThat((CheckInReminderEvent event) -> failing.equals(event.getBookingId())));
+
+        Booking sent = bookingRepository.findById(delivered).orElseThrow();
+        assertNotNull(sent.getReminderSentAt());
+        assertNull(sent.getReminderClaimedAt());
+        assertNull(bookingRepository.findById(failing).orElseThrow().getReminderSentAt());
+    }
+
+    @Test
+    void testTick_failedClaimsGiveTheirWorkerBack() {
+        int parallelism = 2;
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        BookingRepository repository = mock(BookingRepository.class);
+        KafkaProducerService producer = mock(KafkaProducerService.class);
+        RateLimitBucketRepository buckets = mock(RateLimitBucketRepository.class);
+        when(buckets.findTokens(anyString())).thenReturn(100.0);
+        when(repository.findPendingReminderDays(any(), any(), any()))
+                .thenReturn(List.of(new PendingReminderDay(hotel_id, tomorrow)));
+        // more failed claims than there are workers, then the database recovers
+        CannotAcquireLockException lockTimeout = new CannotAcquireLockException("Lock wait timeout exceeded");
+        when(repository.lockDueReminders(eq(tomorrow), any(), anyLong(), anyInt()))
+                .thenThrow(lockTimeout, lockTimeout, lockTimeout)
+                .thenReturn(List.of(1L))
+                .thenReturn(List.of());
+        when(repository.findReminderRows(eq(List.of(1L)), any())).thenReturn(List.of(new ReminderRow(1L, 1L, hotel_id,
+                "Test Hotel", 1L, "101", "Test Guest", "guest@test.com", "1234567890", tomorrow, tomorrow.plusDays(1))));
+        when(producer.publishCheckInReminder(any()))
+                .thenReturn(CompletableFuture.<SendResult<String, Object>>completedFuture(null));
+
+        BookingReminderScheduler scheduler = new BookingReminderScheduler(repository, mock(HotelServiceClient.class),
+                producer, mock(SchedulerLeaseManager.class), reminderWindows, buckets,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), parallelism, 20, 100);
+        ReflectionTestUtils.setField(scheduler, "chunkSize", 500);
+        ReflectionTestUtils.setField(scheduler, "sendTimeoutMs", 1000L);
+        try {
+            for (int tick = 0; tick < 4; tick++) {
+                scheduler.releaseCheckInReminders();
+            }
+
+            verify(producer, timeout(5000)).publishCheckInReminder(any());
+            verify(repository, timeout(5000)).markReminderSent(eq(List.of(1L)), any());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    private List<Long> claim(LocalDate checkIn) {
+        return claimTransaction.execute(status -> {
+            List<Long> ids = bookingRepository.lockDueReminders(checkIn, List.of(hotel_id), claim_timeout, 10);
+            if (!ids.isEmpty()) {
+                bookingRepository.markReminderClaimed(ids);
+            }
+            return ids;
+        });
+    }
+
+    private Booking confirmedBooking(LocalDate checkIn) {
+        return confirmedBooking(checkIn, "guest@test.com");
+    }
+
+    private Booking confirmedBooking(LocalDate checkIn, String guestEmail) {
+        return bookingRepository.save(Booking.builder()
+                .userId(1L)
+                .hotelId(hotel_id)
+                .roomId(1L)
+                // room snapshot present, so publishing needs no hotel-service lookup
+                .hotelName("Test Hotel")
+                .roomNumber("101")
+                .checkInDate(checkIn)
+                .checkOutDate(checkIn.plusDays(1))
+                .totalAmount(100f)
+                .status(BookingStatus.CONFIRMED)
+                .guestName("Test Guest")
+                .guestEmail(guestEmail)
+                .guestPhone("1234567890")
+                .numberOfGuests(1)
+                .build());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.hotel.booking.scheduler;
+
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.scheduler.HotelReminderWindows.ReminderWindow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class NoShowSweeperTest {
+
+    private static final Long los_angeles_hotel = 1L;
+    private static final Long tokyo_hotel = 2L;
+    private static final Long utc_hotel = 3L;
+
+    private NoShowSweeper sweeper;
+
+    @BeforeEach
+    void setup() {
+        HotelReminderWindows windows = mock(HotelReminderWindows.class);
+        when(windows.forHotel(los_angeles_hotel)).thenReturn(window("America/Los_Angeles"));
+        when(windows.forHotel(tokyo_hotel)).thenReturn(window("Asia/Tokyo"));
+        when(windows.forHotel(utc_hotel)).thenReturn(window("UTC"));
+        sweeper = new NoShowSweeper(mock(BookingRepository.class), mock(PlatformTransactionManager.class),
+                mock(ApplicationEventPublisher.class), mock(SchedulerLeaseManager.class), windows,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testCutoff_followsEachHotelsLocalDate() {
+        // 03:00 UTC on March 10th: still the 9th in Los Angeles, already noon in Tokyo
+        Instant now = Instant.parse("2026-03-10T03:00:00Z");
+
+        assertEquals(LocalDate.of(2026, 3, 9), sweeper.cutoff(los_angeles_hotel, now));
+        assertEquals(LocalDate.of(2026, 3, 10), sweeper.cutoff(tokyo_hotel, now));
+        assertEquals(LocalDate.of(2026, 3, 10), sweeper.cutoff(utc_hotel, now));
+    }
+
+    @Test
+    void testCutoff_hotelAheadOfUtcRollsOverFirst() {
+        // 20:00 UTC on March 9th is already the 10th in Tokyo
+        Instant now = Instant.parse("2026-03-09T20:00:00Z");
+
+        assertEquals(LocalDate.of(2026, 3, 9), sweeper.cutoff(utc_hotel, now));
+        assertEquals(LocalDate.of(2026, 3, 10), sweeper.cutoff(tokyo_hotel, now));
+    }
+
+    @Test
+    void testCutoff_graceDaysCountFromTheLocalDate() {
+        ReflectionTestUtils.setField(sweeper, "graceDays", 1);
+        Instant now = Instant.parse("2026-03-10T03:00:00Z");
+
+        assertEquals(LocalDate.of(2026, 3, 8), sweeper.cutoff(los_angeles_hotel, now));
+        assertEquals(LocalDate.of(2026, 3, 9), sweeper.cutoff(tokyo_hotel, now));
+    }
+
+    private static ReminderWindow window(String zone) {
+        return new ReminderWindow(ZoneId.of(zone), LocalTime.of(9, 0), LocalTime.of(12, 0));
+    }
+}
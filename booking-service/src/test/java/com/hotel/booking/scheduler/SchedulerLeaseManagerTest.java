@@ -0,0 +1,138 @@
+package com.hotel.booking.scheduler;
+
+import com.hotel.booking.repository.SchedulerLeaseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class SchedulerLeaseManagerTest {
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // two replicas sharing the table
+    private SchedulerLeaseManager first;
+    private SchedulerLeaseManager second;
+    private String lease;
+
+    @BeforeEach
+    void setup() {
+        first = replica();
+        second = replica();
+        lease = "lease-test:" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM scheduler_leases WHERE name = ? OR name LIKE ?", lease, lease + ":%");
+    }
+
+    @Test
+    void testLease_heldByOneReplicaOnly() {
+        assertTrue(first.tryAcquire(lease));
+        assertFalse(second.tryAcquire(lease));
+        assertTrue(first.isHeld(lease));
+
+        assertTrue(first.renew(lease));
+        assertFalse(second.renew(lease));
+    }
+
+    @Test
+    void testLease_expiredLeaseIsTakenOverWithCheckpoint() {
+        assertTrue(first.tryAcquire(lease));
+        assertTrue(first.renew(lease, "42"));
+        expire(lease);
+
+        assertFalse(first.isHeld(lease));
+        assertTrue(second.tryAcquire(lease));
+        assertEquals("42", second.checkpoint(lease));
+
+        // the old holder finds out on its next renewal and must stop
+        assertFalse(first.renew(lease, "43"));
+        assertTrue(second.renew(lease, "50"));
+        assertEquals("50", second.checkpoint(lease));
+    }
+
+    @Test
+    void testLease_completedLeaseIsNeverRunAgain() {
+        assertTrue(first.tryAcquire(lease));
+        assertNull(first.checkpoint(lease));
+        first.complete(lease);
+
+        assertFalse(first.isHeld(lease));
+        assertFalse(second.tryAcquire(lease));
+        expire(lease);
+        assertFalse(second.tryAcquire(lease));
+    }
+
+    @Test
+    void testLease_onlyTheHolderCompletesIt() {
+        assertTrue(first.tryAcquire(lease));
+        second.complete(lease);
+
+        assertTrue(first.isHeld(lease));
+        assertTrue(first.renew(lease));
+    }
+
+    @Test
+    void testLease_releasedLeaseCanBeTakenAgain() {
+        assertTrue(first.tryAcquire(lease));
+        second.release(lease);
+        assertFalse(second.tryAcquire(lease));
+
+        first.release(lease);
+        assertFalse(first.isHeld(lease));
+        assertTrue(second.tryAcquire(lease));
+    }
+
+    @Test
+    void testPurge_deletesEveryChunkOfOldCompletedLeases() {
+        ReflectionTestUtils.setField(first, "retentionDays", 7L);
+        ReflectionTestUtils.setField(first, "purgeChunkSize", 2);
+        for (int i = 0; i < 5; i++) {
+            String name = lease + ":" + i;
+            assertTrue(first.tryAcquire(name));
+            first.complete(name);
+        }
+        jdbcTemplate.update("UPDATE scheduler_leases SET completed_at = TIMESTAMPADD(DAY, -8, NOW(6)) WHERE name LIKE ?",
+                lease + ":%");
+
+        first.purgeCompleted();
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM scheduler_leases WHERE name LIKE ?", Integer.class, lease + ":%"));
+    }
+
+    private SchedulerLeaseManager replica() {
+        SchedulerLeaseManager manager = new SchedulerLeaseManager(leaseRepository, transactionManager);
+        ReflectionTestUtils.setField(manager, "ttlSeconds", 120L);
+        return manager;
+    }
+
+    // what the table looks like once a holder stopped renewing for longer than the TTL
+    private void expire(String name) {
+        jdbcTemplate.update(
+                "UPDATE scheduler_leases SET lease_until = TIMESTAMPADD(SECOND, -1, NOW(6)) WHERE name = ?", name);
+    }
+}
@@ -0,0 +1,50 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.client.HotelServiceClient;
+import com.hotel.booking.dto.external.RoomDto;
+import com.hotel.booking.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AvailabilityStreamServiceTest {
+
+    private static final Long hotel_id = 1L;
+
+    private HotelServiceClient hotelServiceClient;
+    private AvailabilityStreamService service;
+
+    private final LocalDate checkIn = LocalDate.now().plusDays(1);
+    private final LocalDate checkOut = LocalDate.now().plusDays(3);
+
+    @BeforeEach
+    void setup() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        hotelServiceClient = mock(HotelServiceClient.class);
+        when(bookingRepository.findBookedRoomIds(eq(hotel_id), any(), any())).thenReturn(List.of());
+        // a single slot, so one leaked subscriber would lock everybody out
+        service = new AvailabilityStreamService(bookingRepository, hotelServiceClient, 60000, 1);
+    }
+
+    @Test
+    void testSubscribe_failedSnapshotGivesTheSlotBack() {
+        when(hotelServiceClient.getRoomsByHotelId(hotel_id))
+                .thenThrow(new IllegalStateException("hotel-service unavailable"))
+                .thenThrow(new IllegalStateException("hotel-service unavailable"))
+                .thenReturn(List.of(RoomDto.builder().id(10L).roomType("DOUBLE").isActive(true).build()));
+
+        assertThrows(IllegalStateException.class, () -> service.subscribe(hotel_id, checkIn, checkOut));
+        assertThrows(IllegalStateException.class, () -> service.subscribe(hotel_id, checkIn, checkOut));
+
+        assertNotNull(service.subscribe(hotel_id, checkIn, checkOut));
+    }
+}
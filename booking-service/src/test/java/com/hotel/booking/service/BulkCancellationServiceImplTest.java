@@ -0,0 +1,150 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.BulkCancellationJob;
+import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.enums.BulkJobStatus;
+import com.hotel.booking.event.BookingStateChangedEvent;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.BulkCancellationJobRepository;
+import com.hotel.booking.scheduler.SchedulerLeaseManager;
+import com.hotel.booking.security.AuthorizationUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BulkCancellationServiceImplTest {
+
+    private static final Long job_id = 7L;
+    private static final Long hotel_id = 3L;
+    private static final String lease = "bulk-cancel:" + job_id;
+
+    private BookingRepository bookingRepository;
+    private BulkCancellationJobRepository jobRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private SchedulerLeaseManager leaseManager;
+    private BulkCancellationServiceImpl service;
+
+    @BeforeEach
+    void setup() {
+        bookingRepository = mock(BookingRepository.class);
+        jobRepository = mock(BulkCancellationJobRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        leaseManager = mock(SchedulerLeaseManager.class);
+        service = new BulkCancellationServiceImpl(bookingRepository, jobRepository, mock(AuthorizationUtil.class),
+                eventPublisher, leaseManager, mock(PlatformTransactionManager.class), 1);
+        ReflectionTestUtils.setField(service, "chunkSize", 500);
+    }
+
+    @AfterEach
+    void cleanup() {
+        service.shutdown();
+    }
+
+    @Test
+    void testResume_finishesJobLeftRunningByAnotherReplica() {
+        // the replica that died had already cancelled 3 bookings
+        BulkCancellationJob job = job(BulkJobStatus.RUNNING, 3);
+        when(jobRepository.findByStatusIn(any())).thenReturn(List.of(job));
+        when(jobRepository.findById(job_id)).thenReturn(Optional.of(job));
+        when(leaseManager.tryAcquire(lease)).thenReturn(true);
+        when(bookingRepository.countStaysInRange(eq(hotel_id), any(), any(), any())).thenReturn(2L);
+        when(bookingRepository.findStaysInRangeForUpdate(eq(hotel_id), any(), any(), any(), eq(0L), any()))
+                .thenReturn(List.of(booking(11L), booking(12L)));
+        when(bookingRepository.cancelInBulk(eq(List.of(11L, 12L)), any(), eq(BookingStatus.CANCELLED),
+                any(), any(), any())).thenReturn(2);
+
+        service.resumeUnfinishedJobs();
+
+        verify(jobRepository, timeout(5000)).markFinished(eq(job_id), eq(BulkJobStatus.COMPLETED), isNull(), any());
+        verify(jobRepository).markRunning(eq(job_id), eq(BulkJobStatus.RUNNING), eq(5L), any());
+        verify(jobRepository).addCancelled(job_id, 2);
+        verify(eventPublisher, times(2)).publishEvent(any(BookingStateChangedEvent.class));
+        verify(leaseManager, timeout(5000)).complete(lease);
+    }
+
+    @Test
+    void testResume_skipsJobStillLeasedByLiveReplica() {
+        when(jobRepository.findByStatusIn(any())).thenReturn(List.of(job(BulkJobStatus.RUNNING, 0)));
+        when(leaseManager.tryAcquire(lease)).thenReturn(false);
+
+        service.resumeUnfinishedJobs();
+
+        verify(leaseManager, timeout(5000)).tryAcquire(lease);
+        verify(jobRepository, never()).findById(anyLong());
+        verify(bookingRepository, never()).cancelInBulk(anyList(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testResume_doesNotQueueJobAlreadyInFlight() throws InterruptedException {
+        when(jobRepository.findByStatusIn(any())).thenReturn(List.of(job(BulkJobStatus.QUEUED, 0)));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(leaseManager.tryAcquire(lease)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return false;
+        });
+
+        service.resumeUnfinishedJobs();
+        started.await(5, TimeUnit.SECONDS);
+        // the periodic sweep comes round while the first run is still going
+        service.resumeUnfinishedJobs();
+        release.countDown();
+
+        verify(leaseManager, timeout(5000)).tryAcquire(lease);
+        Thread.sleep(200);
+        verify(leaseManager, times(1)).tryAcquire(lease);
+
+        // once the run is over the next sweep may pick the job up again
+        service.resumeUnfinishedJobs();
+        verify(leaseManager, timeout(5000).times(2)).tryAcquire(lease);
+    }
+
+    private static BulkCancellationJob job(BulkJobStatus status, long cancelled) {
+        return BulkCancellationJob.builder()
+                .id(job_id)
+                .hotelId(hotel_id)
+                .fromDate(LocalDate.now())
+                .toDate(LocalDate.now().plusDays(7))
+                .reason("closure")
+                .status(status)
+                .cancelledBookings(cancelled)
+                .requestedBy("admin")
+                .build();
+    }
+
+    private static Booking booking(Long id) {
+        Booking booking = Booking.builder()
+                .hotelId(hotel_id)
+                .roomId(1L)
+                .checkInDate(LocalDate.now().plusDays(1))
+                .checkOutDate(LocalDate.now().plusDays(2))
+                .totalAmount(100f)
+                .status(BookingStatus.CONFIRMED)
+                .build();
+        booking.setId(id);
+        return booking;
+    }
+}
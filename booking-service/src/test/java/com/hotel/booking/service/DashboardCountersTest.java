@@ -0,0 +1,110 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.enums.BookingStatus;
+import com.hotel.booking.enums.PaymentStatus;
+import com.hotel.booking.event.BookingStateChangedEvent;
+import com.hotel.booking.repository.ArchivedBookingRepository;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.DashboardCounterRepository;
+import com.hotel.booking.repository.projection.DashboardTotals;
+import com.hotel.booking.scheduler.SchedulerLeaseManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DashboardCountersTest {
+
+    private DashboardCounterRepository counterRepository;
+    private BookingRepository bookingRepository;
+    private ArchivedBookingRepository archivedBookingRepository;
+    private DashboardCounters counters;
+
+    @BeforeEach
+    void setup() {
+        counterRepository = mock(DashboardCounterRepository.class);
+        bookingRepository = mock(BookingRepository.class);
+        archivedBookingRepository = mock(ArchivedBookingRepository.class);
+        counters = new DashboardCounters(counterRepository, bookingRepository, archivedBookingRepository,
+                mock(SchedulerLeaseManager.class), mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testReconcile_addsOnlyTheDrift() {
+        when(counterRepository.getTotals()).thenReturn(totals(10, 1000.0, 4, 3, 2, 1));
+        when(bookingRepository.getDashboardTotals(any())).thenReturn(totals(9, 900.0, 4, 2, 2, 1));
+        when(archivedBookingRepository.getDashboardTotals()).thenReturn(totals(3, 300.0, 0, 3, 1, 0));
+
+        counters.reconcile();
+
+        // a relative correction, so deltas committed by other transactions meanwhile are kept
+        verify(counterRepository).add(anyInt(), eq(2L), eq(200.0), eq(0L), eq(2L), eq(1L), eq(0L), any());
+    }
+
+    @Test
+    void testReconcile_writesNothingWithoutDrift() {
+        when(counterRepository.getTotals()).thenReturn(totals(12, 1200.0, 4, 5, 3, 1));
+        when(bookingRepository.getDashboardTotals(any())).thenReturn(totals(9, 900.0, 4, 2, 2, 1));
+        when(archivedBookingRepository.getDashboardTotals()).thenReturn(totals(3, 300.0, 0, 3, 1, 0));
+
+        counters.reconcile();
+
+        verify(counterRepository, never()).add(anyInt(), anyLong(), anyDouble(), anyLong(), anyLong(),
+                anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void testReconcile_emptyTablesCountAsZero() {
+        when(counterRepository.getTotals()).thenReturn(totals(2, 50.0, 1, 0, 1, 0));
+        DashboardTotals empty = new DashboardTotals(0L, null, null, null, null, null, null, null);
+        when(bookingRepository.getDashboardTotals(any())).thenReturn(empty);
+        when(archivedBookingRepository.getDashboardTotals()).thenReturn(empty);
+
+        counters.reconcile();
+
+        verify(counterRepository).add(anyInt(), eq(-2L), eq(-50.0), eq(-1L), eq(0L), eq(-1L), eq(0L), any());
+    }
+
+    @Test
+    void testDelta_cancellationMovesBookingFromActiveToCancelled() {
+        BookingStateChangedEvent event = BookingStateChangedEvent.builder()
+                .previousStatus(BookingStatus.CONFIRMED)
+                .newStatus(BookingStatus.CANCELLED)
+                .previousPaymentStatus(PaymentStatus.PENDING)
+                .newPaymentStatus(PaymentStatus.PENDING)
+                .totalAmount(120f)
+                .build();
+
+        DashboardCounters.Delta delta = DashboardCounters.Delta.between(event);
+
+        assertEquals(new DashboardCounters.Delta(-1, -120.0, -1, 0, 1, -1), delta);
+        assertTrue(delta.plus(DashboardCounters.Delta.between(reverse(event))).isZero());
+    }
+
+    private static BookingStateChangedEvent reverse(BookingStateChangedEvent event) {
+        return BookingStateChangedEvent.builder()
+                .previousStatus(event.getNewStatus())
+                .newStatus(event.getPreviousStatus())
+                .previousPaymentStatus(event.getNewPaymentStatus())
+                .newPaymentStatus(event.getPreviousPaymentStatus())
+                .totalAmount(event.getTotalAmount())
+                .build();
+    }
+
+    private static DashboardTotals totals(long bookings, double revenue, long active, long completed,
+                                          long cancelled, long pendingPayments) {
+        return new DashboardTotals(bookings, revenue, active, completed, cancelled, 0L, 0L, pendingPayments);
+    }
+}
@@ -0,0 +1,148 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.entity.RevenueRollup;
+import com.hotel.booking.repository.ArchivedBookingRepository;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.RevenueRollupRepository;
+import com.hotel.booking.repository.projection.BookingDateBounds;
+import com.hotel.booking.repository.projection.RevenueDayTotal;
+import com.hotel.booking.scheduler.SchedulerLeaseManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RevenueRollupProjectorTest {
+
+    private static final Long hotel_id = 1L;
+    private static final String backfill_lease = "revenue-rollup-backfill";
+
+    private RevenueRollupRepository rollupRepository;
+    private BookingRepository bookingRepository;
+    private ArchivedBookingRepository archivedBookingRepository;
+    private SchedulerLeaseManager leaseManager;
+    private JdbcTemplate jdbcTemplate;
+    private RevenueRollupProjector projector;
+
+    private final LocalDate today = LocalDate.now();
+    private final String nightlyLease = "revenue-rollup-reconcile:" + today;
+
+    @BeforeEach
+    void setup() {
+        rollupRepository = mock(RevenueRollupRepository.class);
+        bookingRepository = mock(BookingRepository.class);
+        archivedBookingRepository = mock(ArchivedBookingRepository.class);
+        leaseManager = mock(SchedulerLeaseManager.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        projector = new RevenueRollupProjector(rollupRepository, bookingRepository, archivedBookingRepository,
+                leaseManager, jdbcTemplate, mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(projector, "chunkDays", 31);
+
+        when(leaseManager.tryAcquire(anyString())).thenReturn(true);
+        when(leaseManager.renew(anyString(), anyString())).thenReturn(true);
+        when(bookingRepository.getDateBounds()).thenReturn(new BookingDateBounds(
+                today.minusDays(2).atTime(10, 0), today.minusDays(1), today.plusDays(1)));
+        when(archivedBookingRepository.getDateBounds()).thenReturn(new BookingDateBounds(null, null, null));
+    }
+
+    @Test
+    void testReconcile_upsertsTheDifferenceOnly() {
+        LocalDate day = today.minusDays(1);
+        when(rollupRepository.findByRollupDateBetween(today.minusDays(2), today.plusDays(1)))
+                .thenReturn(List.of(new RevenueRollup(hotel_id, day, 2, 200.0, 1, 100.0)));
+        when(bookingRepository.getBookedTotals(any(), any()))
+                .thenReturn(List.of(new RevenueDayTotal(hotel_id, day, 3L, 300.0)));
+        when(bookingRepository.getArrivalTotals(any(), any()))
+                .thenReturn(List.of(new RevenueDayTotal(hotel_id, day, 1L, 100.0)));
+
+        projector.reconcileOnSchedule();
+
+        // one more booking made that day than the rollup has; the arrival figures already match
+        List<Object[]> rows = capturedUpserts();
+        assertEquals(1, rows.size());
+        assertArrayEquals(new Object[]{hotel_id, day, 1L, 100.0, 0L, 0.0}, rows.get(0));
+        verify(leaseManager).complete(nightlyLease);
+    }
+
+    @Test
+    void testReconcile_writesNothingWithoutDrift() {
+        LocalDate day = today.minusDays(1);
+        when(rollupRepository.findByRollupDateBetween(any(), any()))
+                .thenReturn(List.of(new RevenueRollup(hotel_id, day, 3, 300.0, 1, 100.0)));
+        when(bookingRepository.getBookedTotals(any(), any()))
+                .thenReturn(List.of(new RevenueDayTotal(hotel_id, day, 2L, 200.0)));
+        when(archivedBookingRepository.getBookedTotals(any(), any()))
+                .thenReturn(List.of(new RevenueDayTotal(hotel_id, day, 1L, 100.0)));
+        when(bookingRepository.getArrivalTotals(any(), any()))
+                .thenReturn(List.of(new RevenueDayTotal(hotel_id, day, 1L, 100.0)));
+
+        projector.reconcileOnSchedule();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), any(int[].class));
+    }
+
+    @Test
+    void testReconcile_takenOverRunResumesFromCheckpoint() {
+        when(leaseManager.checkpoint(nightlyLease)).thenReturn(today.toString());
+
+        projector.reconcileOnSchedule();
+
+        verify(rollupRepository).findByRollupDateBetween(today, today.plusDays(1));
+        verify(rollupRepository, never()).findByRollupDateBetween(today.minusDays(2), today.plusDays(1));
+    }
+
+    @Test
+    void testBackfill_usesItsOwnLease() {
+        when(rollupRepository.count()).thenReturn(0L);
+
+        projector.backfill();
+
+        verify(leaseManager).tryAcquire(backfill_lease);
+        verify(leaseManager, never()).tryAcquire(nightlyLease);
+        verify(leaseManager).complete(backfill_lease);
+        verify(bookingRepository).getDateBounds();
+    }
+
+    @Test
+    void testBackfill_standsDownWhileNightlyRunIsHeld() {
+        when(rollupRepository.count()).thenReturn(0L);
+        when(leaseManager.isHeld(nightlyLease)).thenReturn(true);
+
+        projector.backfill();
+
+        verify(leaseManager).complete(backfill_lease);
+        verify(bookingRepository, never()).getDateBounds();
+    }
+
+    @Test
+    void testBackfill_skippedOnceTheTableHasRows() {
+        when(rollupRepository.count()).thenReturn(10L);
+
+        projector.backfill();
+
+        verify(leaseManager, never()).tryAcquire(anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> capturedUpserts() {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture(), any(int[].class));
+        return rows.getValue();
+    }
+}
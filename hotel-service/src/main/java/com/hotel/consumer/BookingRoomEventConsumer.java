@@ -0,0 +1,27 @@
+package com.hotel.consumer;
+
+import com.hotel.model.BookingRoomEvent;
+import com.hotel.service.RoomService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingRoomEventConsumer {
+
+    private final RoomService roomService;
+
+    // check-in sets the room OCCUPIED, check-out sets it CLEANING
+    @KafkaListener(topics = {"${kafka.topics.guest-checked-in}", "${kafka.topics.guest-checked-out}"},
+            containerFactory = "bookingRoomEventKafkaListenerContainerFactory")
+    public void consumeRoomStatusEvents(List<BookingRoomEvent> events) {
+        log.info("Received {} booking room events", events.size());
+        int applied = roomService.applyBookingRoomEvents(events);
+        log.info("Applied {} room status changes from {} events", applied, events.size());
+    }
+}
@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalTime;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -34,5 +36,9 @@ public class HotelRequestDto {
     @Max(value = 5, message = "Star rating cannot exceed 5")
     private Integer starRating;
     private String amenities; // wifi,gym,pool
+    @Size(max = 64, message = "Time zone cannot exceed 64 characters")
+    private String timeZone; // Europe/Paris
+    private LocalTime reminderWindowStart;
+    private LocalTime reminderWindowEnd;
     private HotelStatus status;
 }
\ No newline at end of file
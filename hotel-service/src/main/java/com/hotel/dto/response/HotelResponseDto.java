@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 
 @Data
 @NoArgsConstructor
@@ -23,6 +24,9 @@ public class HotelResponseDto {
     private String email;
     private Integer starRating;
     private String amenities;
+    private String timeZone;
+    private LocalTime reminderWindowStart;
+    private LocalTime reminderWindowEnd;
     private HotelStatus status;
     private Integer totalRooms;
     private Integer availableRooms;
@@ -9,6 +9,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -44,6 +45,14 @@ public class Hotel {
     private Integer starRating; // 1-5
     @Column(columnDefinition = "TEXT")
     private String amenities; // Comma-separated or JSON string
+    // IANA zone id, e.g. Asia/Kolkata; guest reminders are sent in this zone
+    @Column(name = "time_zone", length = 64)
+    private String timeZone;
+    // local time range in which reminders may be sent
+    @Column(name = "reminder_window_start")
+    private LocalTime reminderWindowStart;
+    @Column(name = "reminder_window_end")
+    private LocalTime reminderWindowEnd;
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private HotelStatus status = HotelStatus.ACTIVE;
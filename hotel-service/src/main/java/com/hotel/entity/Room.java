@@ -51,6 +51,9 @@ public class Room {
     // For future booking integration
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
+    // when the status last changed - used to ignore replayed or out-of-order booking events
+    @Column(name = "status_changed_at")
+    private LocalDateTime statusChangedAt;
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -61,6 +64,7 @@ public class Room {
     public void updateStatus(RoomStatus newStatus, Long userId) {
         if (this.status != newStatus) {
             this.status = newStatus;
+            this.statusChangedAt = LocalDateTime.now();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.hotel.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// room-relevant subset of booking-service's guest-checked-in / guest-checked-out events
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BookingRoomEvent {
+
+    private Long bookingId;
+    private Long hotelId;
+    private Long roomId;
+    private String roomStatus; // OCCUPIED on check-in, CLEANING on check-out
+    private LocalDateTime checkedInAt;
+    private LocalDateTime checkedOutAt;
+
+    public LocalDateTime getOccurredAt() {
+        return checkedOutAt != null ? checkedOutAt : checkedInAt;
+    }
+}
@@ -18,6 +18,9 @@ import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DateTimeException;
+import java.time.LocalTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -38,6 +41,7 @@ public class HotelServiceImpl implements HotelService {
         if (hotel.getStatus() == null) {
             hotel.setStatus(HotelStatus.ACTIVE);
         }
+        applyReminderSettings(hotel, requestDto);
         Hotel savedHotel = hotelRepository.save(hotel);
         log.info("Hotel created successfully with ID: {}", savedHotel.getId());
         return modelMapper.map(savedHotel, HotelResponseDto.class);
@@ -71,11 +75,35 @@ public class HotelServiceImpl implements HotelService {
         if (requestDto.getStatus() != null) {
             hotel.setStatus(requestDto.getStatus());
         }
+        applyReminderSettings(hotel, requestDto);
         Hotel updatedHotel = hotelRepository.save(hotel);
         log.info("Hotel updated successfully: {}", hotelId);
         return modelMapper.map(updatedHotel, HotelResponseDto.class);
     }
 
+    // reminder settings are optional; booking-service falls back to its defaults when unset
+    private void applyReminderSettings(Hotel hotel, HotelRequestDto requestDto) {
+        if (requestDto.getTimeZone() != null && !requestDto.getTimeZone().isBlank()) {
+            try {
+                hotel.setTimeZone(ZoneId.of(requestDto.getTimeZone().trim()).getId());
+            } catch (DateTimeException e) {
+                throw new BadRequestException("Invalid time zone: " + requestDto.getTimeZone());
+            }
+        } else {
+            hotel.setTimeZone(null);
+        }
+        LocalTime start = requestDto.getReminderWindowStart();
+        LocalTime end = requestDto.getReminderWindowEnd();
+        if ((start == null) != (end == null)) {
+            throw new BadRequestException("Reminder window needs both a start and an end time");
+        }
+        if (start != null && !start.isBefore(end)) {
+            throw new BadRequestException("Reminder window start must be before its end");
+        }
+        hotel.setReminderWindowStart(start);
+        hotel.setReminderWindowEnd(end);
+    }
+
     @Override
     public HotelResponseDto getHotelById(Long hotelId) {
         log.info("Fetching hotel by ID: {}", hotelId);
@@ -6,6 +6,7 @@ import com.hotel.dto.request.UpdateRoomStatusDto;
 import com.hotel.dto.response.RoomResponseDto;
 import com.hotel.enums.RoomStatus;
 import com.hotel.enums.RoomType;
+import com.hotel.model.BookingRoomEvent;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -19,4 +20,5 @@ public interface RoomService {
     List<RoomResponseDto> getAvailableRoomsByHotelId(Long hotelId);
     List<RoomResponseDto> searchRooms(Long hotelId, RoomStatus status, RoomType roomType, BigDecimal minPrice, BigDecimal maxPrice);
     void deleteRoom(Long roomId, Long userId, String role, Long userHotelId);
+    int applyBookingRoomEvents(List<BookingRoomEvent> events);
 }
@@ -11,6 +11,7 @@ import com.hotel.enums.UserRole;
 import com.hotel.exception.BadRequestException;
 import com.hotel.exception.ForbiddenException;
 import com.hotel.exception.ResourceNotFoundException;
+import com.hotel.model.BookingRoomEvent;
 import com.hotel.repository.HotelRepository;
 import com.hotel.repository.RoomRepository;
 import lombok.RequiredArgsConstructor;
@@ -21,7 +22,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -186,6 +191,71 @@ public class RoomServiceImpl implements RoomService {
         log.info("Room deleted successfully: {}", roomId);
     }
 
+    @Override
+    @Transactional
+    public int applyBookingRoomEvents(List<BookingRoomEvent> events) {
+        // keep only the newest event per room so one batch never flips a room back and forth
+        Map<Long, BookingRoomEvent> latestByRoom = new HashMap<>();
+        for (BookingRoomEvent event : events) {
+            if (event == null || event.getRoomId() == null || parseRoomStatus(event) == null) {
+                continue;
+            }
+            latestByRoom.merge(event.getRoomId(), event,
+                    (current, candidate) -> isNewer(candidate, current) ? candidate : current);
+        }
+        if (latestByRoom.isEmpty()) {
+            return 0;
+        }
+
+        List<Room> rooms = roomRepository.findAllById(latestByRoom.keySet());
+        Set<Long> touchedHotelIds = new HashSet<>();
+        int applied = 0;
+        for (Room room : rooms) {
+            BookingRoomEvent event = latestByRoom.get(room.getId());
+            RoomStatus newStatus = parseRoomStatus(event);
+            LocalDateTime occurredAt = event.getOccurredAt() != null ? event.getOccurredAt() : LocalDateTime.now();
+            // replayed or stale event - a newer change (booking event or staff update) already won
+            if (room.getStatusChangedAt() != null && !occurredAt.isAfter(room.getStatusChangedAt())) {
+                log.debug("Skipping stale {} event for room {} (booking {})",
+                        newStatus, room.getId(), event.getBookingId());
+                continue;
+            }
+            if (room.getStatus() == newStatus) {
+                continue;
+            }
+            room.setStatus(newStatus);
+            room.setStatusChangedAt(occurredAt);
+            touchedHotelIds.add(room.getHotel().getId());
+            applied++;
+        }
+        roomRepository.saveAll(rooms);
+
+        // one count refresh per hotel per batch instead of one per room
+        touchedHotelIds.forEach(hotelService::updateHotelRoomCounts);
+        log.info("Room status batch applied - {} rooms changed across {} hotels", applied, touchedHotelIds.size());
+        return applied;
+    }
+
+    private boolean isNewer(BookingRoomEvent candidate, BookingRoomEvent current) {
+        if (candidate.getOccurredAt() == null) {
+            return false;
+        }
+        return current.getOccurredAt() == null || candidate.getOccurredAt().isAfter(current.getOccurredAt());
+    }
+
+    private RoomStatus parseRoomStatus(BookingRoomEvent event) {
+        if (event.getRoomStatus() == null) {
+            return null;
+        }
+        try {
+            return RoomStatus.valueOf(event.getRoomStatus().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring booking event {} with unknown room status {}",
+                    event.getBookingId(), event.getRoomStatus());
+            return null;
+        }
+    }
+
     // Helper method to validate hotel access
     private void validateHotelAccess(Long hotelId, String role, Long userHotelId, String action) {
         if (UserRole.ADMIN.name().equals(role)) {